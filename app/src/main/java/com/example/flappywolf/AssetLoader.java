@@ -0,0 +1,98 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseArray;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Decodes a batch of assets in parallel on a small shared worker pool,
+ * acquiring each one through {@link AssetRegistry} so already-loaded
+ * bitmaps are shared rather than decoded again. The callback runs once,
+ * on whichever worker finishes last; {@link #release()} then hands every
+ * bitmap back.
+ */
+public class AssetLoader {
+    public interface Callback {
+        /** Bitmaps by resource id; a failed decode is simply missing. */
+        void onLoaded(SparseArray<Bitmap> assets, long elapsedMs);
+    }
+
+    private static final String TAG = "AssetLoader";
+    private static final int THREADS =
+            Math.max(1, Math.min(3, Runtime.getRuntime().availableProcessors() - 1));
+    private static final AtomicInteger threadCount = new AtomicInteger();
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread t = new Thread(r, "asset-loader-" + threadCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final BitmapHelper helper;
+    private final List<Integer> ids = new ArrayList<>();
+    private final List<Long> keys = new ArrayList<>();
+    private final List<AssetRegistry.Loader> loaders = new ArrayList<>();
+    private Bitmap[] results;
+
+    public AssetLoader(BitmapHelper helper) {
+        this.helper = helper;
+    }
+
+    /** Decode resId subsampled to no less than reqWidth x reqHeight. */
+    public AssetLoader sampled(int resId, int reqWidth, int reqHeight) {
+        ids.add(resId);
+        keys.add(AssetRegistry.key(resId, reqWidth));
+        loaders.add(() -> helper.decodeSampled(resId, reqWidth, reqHeight));
+        return this;
+    }
+
+    /** Decode resId scaled to exactly widthPx wide. */
+    public AssetLoader scaledWidth(int resId, int widthPx) {
+        ids.add(resId);
+        keys.add(AssetRegistry.key(resId, widthPx));
+        loaders.add(() -> helper.loadScaledWidth(resId, widthPx));
+        return this;
+    }
+
+    public void start(Callback callback) {
+        final long start = SystemClock.uptimeMillis();
+        final int n = ids.size();
+        final Bitmap[] results = this.results = new Bitmap[n];
+        final AtomicInteger remaining = new AtomicInteger(n);
+        for (int i = 0; i < n; i++) {
+            final int slot = i;
+            POOL.execute(() -> {
+                try {
+                    results[slot] = AssetRegistry.acquire(keys.get(slot), loaders.get(slot));
+                    if (results[slot] == null) Log.e(TAG, "failed to decode " + ids.get(slot));
+                } finally {
+                    if (remaining.decrementAndGet() == 0) {
+                        // the last decrement happens-after every other write to results
+                        SparseArray<Bitmap> assets = new SparseArray<>(n);
+                        for (int j = 0; j < n; j++) {
+                            if (results[j] != null) assets.put(ids.get(j), results[j]);
+                        }
+                        callback.onLoaded(assets, SystemClock.uptimeMillis() - start);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Drops this loader's reference to every bitmap it acquired. Call it
+     * once, after the callback has run.
+     */
+    public void release() {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] != null) AssetRegistry.release(keys.get(i));
+            results[i] = null;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.util.LongSparseArray;
+
+/**
+ * Process-wide, reference-counted bitmap store. Every owner acquires the
+ * bitmaps it uses and releases them when torn down; the first acquire
+ * decodes, later ones share the same instance, and the last release
+ * recycles it. Keys come from {@link #key}: the drawable resource id
+ * plus the width it was decoded for, so each size gets its own entry.
+ */
+public final class AssetRegistry {
+    public interface Loader {
+        Bitmap load();
+    }
+
+    private static class Entry {
+        final Bitmap bitmap;
+        int refs;
+        Entry(Bitmap b) { bitmap = b; }
+    }
+
+    private static final LongSparseArray<Entry> entries = new LongSparseArray<>();
+    private static int decodes = 0;
+
+    private AssetRegistry() {}
+
+    /** The key for resId decoded or scaled for a width of widthPx. */
+    public static long key(int resId, int widthPx) {
+        return (long) resId << 32 | (widthPx & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Returns the shared bitmap for key, loading it on first use. The
+     * load runs outside the lock so different keys decode in parallel;
+     * if two threads race on the same key, the loser's copy is dropped.
+     */
+    public static Bitmap acquire(long key, Loader loader) {
+        synchronized (AssetRegistry.class) {
+            Entry e = entries.get(key);
+            if (e != null) {
+                e.refs++;
+                return e.bitmap;
+            }
+        }
+        Bitmap b = loader.load();
+        if (b == null) return null;
+        synchronized (AssetRegistry.class) {
+            decodes++;
+            Entry e = entries.get(key);
+            if (e != null) {
+                b.recycle();
+            } else {
+                e = new Entry(b);
+                entries.put(key, e);
+            }
+            e.refs++;
+            return e.bitmap;
+        }
+    }
+
+    /** Drops one reference; the bitmap is recycled with the last one. */
+    public static synchronized void release(long key) {
+        Entry e = entries.get(key);
+        if (e == null) return;
+        if (--e.refs == 0) {
+            entries.remove(key);
+            e.bitmap.recycle();
+        }
+    }
+
+    /** Number of bitmaps loaded since process start. */
+    public static synchronized int decodeCount() {
+        return decodes;
+    }
+
+    /** Bytes held by live bitmaps. */
+    public static synchronized long byteCount() {
+        long total = 0;
+        for (int i = 0; i < entries.size(); i++) {
+            total += entries.valueAt(i).bitmap.getAllocationByteCount();
+        }
+        return total;
+    }
+}
@@ -1,58 +1,36 @@
 package com.example.flappywolf;
 
-import android.content.Context;
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
+import android.graphics.Paint;
 
-public class Bird {
-    private enum State { NEUTRAL, HAPPY, HURT }
-    private Bitmap neutral, happy, hurt;
-    private float x, y, v;
-    private State state = State.NEUTRAL;
-    private int frameCount = 0;
-    private static final int JUMP_FRAMES = 5;
-
-    public Bird(Context ctx, BitmapHelper h) {
-        int w = h.screenWidth / 8;
-        neutral = h.loadScaledWidth(R.drawable.bird_neutral, w);
-        happy   = h.loadScaledWidth(R.drawable.bird_happy, w);
-        hurt    = h.loadScaledWidth(R.drawable.bird_hurt, w);
-        x = h.screenWidth * 0.2f;
-        y = h.screenHeight * 0.5f;
-        v = 0;
-    }
+import com.example.flappywolf.engine.BirdBody;
 
-    public void update() {
-        v += 1f;
-        y += v;
-        if (state == State.HAPPY) {
-            if (++frameCount > JUMP_FRAMES) { state = State.NEUTRAL; frameCount = 0; }
-        }
-    }
+/** Sprites for the bird; the physics live in {@link BirdBody}. */
+public class Bird {
+    private final Bitmap neutral, happy, hurt;
 
-    public void jump() {
-        v = -20f;
-        state = State.HAPPY;
-        frameCount = 0;
+    /** Sprites come pre-scaled from the asset registry, owned by the caller. */
+    public Bird(Bitmap neutral, Bitmap happy, Bitmap hurt) {
+        this.neutral = neutral;
+        this.happy   = happy;
+        this.hurt    = hurt;
     }
 
-    public void die() {
-        state = State.HURT;
+    public void draw(CountingCanvas c, BirdBody.Mood mood, float x, float y) {
+        draw(c, mood, x, y, null);
     }
 
-    public void draw(Canvas c) {
+    /** With paint, e.g. translucent for the ghost; null draws opaque. */
+    public void draw(CountingCanvas c, BirdBody.Mood mood, float x, float y, Paint paint) {
         Bitmap b;
-        switch (state) {
+        switch (mood) {
             case HAPPY: b = happy; break;
             case HURT:  b = hurt;  break;
             default:    b = neutral;
         }
-        c.drawBitmap(b, x, y, null);
+        c.drawBitmap(b, x, y, paint);
     }
 
-    public float getX() { return x; }
-    public float getY() { return y; }
-    public void setY( float newY ) { this.y = newY; }
     public int getWidth() { return neutral.getWidth(); }
     public int getHeight() { return neutral.getHeight(); }
 }
@@ -34,7 +34,7 @@ public class BitmapHelper {
             Bitmap full = BitmapFactory.decodeResource(context.getResources(), resId);
             if (full == null) return null;
             int fallbackH = (int)((float)full.getHeight() * desiredWidthPx / full.getWidth());
-            return Bitmap.createScaledBitmap(full, desiredWidthPx, fallbackH, true);
+            return scaleAndRecycle(full, desiredWidthPx, fallbackH);
         }
 
         // 3) Compute target height
@@ -53,7 +53,31 @@ public class BitmapHelper {
 
         // 6) Final exact scale
         int scaledH = desiredWidthPx * tmp.getHeight() / tmp.getWidth();
-        return Bitmap.createScaledBitmap(tmp, desiredWidthPx, scaledH, true);
+        return scaleAndRecycle(tmp, desiredWidthPx, scaledH);
+    }
+
+    /**
+     * Scales src to w x h and recycles src, unless createScaledBitmap
+     * handed src itself back because it already had that size.
+     */
+    private static Bitmap scaleAndRecycle(Bitmap src, int w, int h) {
+        Bitmap scaled = Bitmap.createScaledBitmap(src, w, h, true);
+        if (scaled != src) src.recycle();
+        return scaled;
+    }
+
+    /**
+     * Decodes a drawable with the largest power-of-two subsampling that
+     * keeps it at least reqWidth x reqHeight; final scaling is left to
+     * the caller.
+     */
+    public Bitmap decodeSampled(int resId, int reqWidth, int reqHeight) {
+        BitmapFactory.Options opts = new BitmapFactory.Options();
+        opts.inJustDecodeBounds = true;
+        BitmapFactory.decodeResource(context.getResources(), resId, opts);
+        opts.inSampleSize = calculateInSampleSize(opts, reqWidth, reqHeight);
+        opts.inJustDecodeBounds = false;
+        return BitmapFactory.decodeResource(context.getResources(), resId, opts);
     }
 
     /**
@@ -62,7 +86,7 @@ public class BitmapHelper {
     public Bitmap loadFullScreen(int resId) {
         Bitmap raw = BitmapFactory.decodeResource(context.getResources(), resId);
         if (raw == null) return null;
-        return Bitmap.createScaledBitmap(raw, screenWidth, screenHeight, true);
+        return scaleAndRecycle(raw, screenWidth, screenHeight);
     }
 
     /**
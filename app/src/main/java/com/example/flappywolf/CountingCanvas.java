@@ -0,0 +1,73 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.RectF;
+
+/**
+ * Wraps the frame's {@link Canvas} and counts every draw call made
+ * through it. The renderer draws only through this, so the count is the
+ * whole frame's. Wrapping null draws nothing and only counts, which lets
+ * JVM tests check draw-call budgets without a real Canvas.
+ */
+public class CountingCanvas {
+    private Canvas canvas;
+    private int drawCalls;
+    private Rect src;
+    private RectF dst;
+
+    /** Starts a frame on c, with the count back at zero. */
+    public CountingCanvas wrap(Canvas c) {
+        canvas = c;
+        drawCalls = 0;
+        return this;
+    }
+
+    /** Draw calls since {@link #wrap}. */
+    public int getDrawCalls() { return drawCalls; }
+
+    public void drawColor(int color) {
+        drawCalls++;
+        if (canvas != null) canvas.drawColor(color);
+    }
+
+    public void drawRect(float left, float top, float right, float bottom, Paint paint) {
+        drawCalls++;
+        if (canvas != null) canvas.drawRect(left, top, right, bottom, paint);
+    }
+
+    public void drawText(char[] text, int index, int count, float x, float y, Paint paint) {
+        drawCalls++;
+        if (canvas != null) canvas.drawText(text, index, count, x, y, paint);
+    }
+
+    public void drawBitmap(Bitmap bitmap, float left, float top, Paint paint) {
+        drawCalls++;
+        if (canvas != null) canvas.drawBitmap(bitmap, left, top, paint);
+    }
+
+    /** Copies the w by h region at (srcX, srcY) of bitmap 1:1 to (x, y). */
+    public void drawRegion(Bitmap bitmap, int srcX, int srcY, int w, int h, float x, float y) {
+        drawCalls++;
+        if (canvas == null) return;
+        // created on the first real draw; counting alone touches no android.graphics
+        if (src == null) {
+            src = new Rect();
+            dst = new RectF();
+        }
+        src.set(srcX, srcY, srcX + w, srcY + h);
+        dst.set(x, y, x + w, y + h);
+        canvas.drawBitmap(bitmap, src, dst, null);
+    }
+
+    public void drawVertices(Canvas.VertexMode mode, int vertexCount, float[] verts,
+                             float[] texs, short[] indices, int indexCount, Paint paint) {
+        drawCalls++;
+        if (canvas != null) {
+            canvas.drawVertices(mode, vertexCount, verts, 0, texs, 0, null, 0,
+                    indices, 0, indexCount, paint);
+        }
+    }
+}
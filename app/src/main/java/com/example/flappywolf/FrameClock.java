@@ -0,0 +1,18 @@
+package com.example.flappywolf;
+
+/** Time source for frame pacing; replaced by a fake in unit tests. */
+public interface FrameClock {
+    long nanoTime();
+
+    void sleepNanos(long ns) throws InterruptedException;
+
+    FrameClock SYSTEM = new FrameClock() {
+        @Override public long nanoTime() {
+            return System.nanoTime();
+        }
+
+        @Override public void sleepNanos(long ns) throws InterruptedException {
+            Thread.sleep(ns / 1_000_000L, (int) (ns % 1_000_000L));
+        }
+    };
+}
@@ -0,0 +1,23 @@
+package com.example.flappywolf;
+
+/**
+ * Decides when the game loop may start its next frame. Timestamps are in
+ * the {@link System#nanoTime()} timebase.
+ */
+public interface FramePacer {
+    void start();
+
+    /** Blocks until the next frame slot and returns its timestamp. */
+    long awaitFrame() throws InterruptedException;
+
+    /** Current estimate of the time between two frames. */
+    long getFrameIntervalNs();
+
+    /**
+     * Idle means the loop is parked and will not call {@link #awaitFrame()}
+     * until it is set back; pacers can stop their frame source meanwhile.
+     */
+    void setIdle(boolean idle);
+
+    void stop();
+}
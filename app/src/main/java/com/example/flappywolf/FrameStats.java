@@ -0,0 +1,129 @@
+package com.example.flappywolf;
+
+import com.example.flappywolf.engine.GameState;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Per-phase frame timings recorded by {@link GameThread}: one histogram
+ * for each phase of a frame plus the frame-to-frame interval, and counts
+ * of janky frames (more than 1.5x the display's frame interval). INPUT
+ * is tap-to-jump latency: from the touch event to the first frame
+ * drawn with the jump. Rendered frames are also counted per game state,
+ * along with how often the loop went idle on a static screen, and the
+ * number of draw calls the last and the busiest frame made. The draw
+ * phase is also kept per {@link RenderTarget} scale, so settings can be
+ * compared from one session.
+ */
+public class FrameStats {
+    public static final int UPDATE = 0, LOCK = 1, DRAW = 2, POST = 3, FRAME = 4, INPUT = 5;
+    static final String[] NAMES = { "update", "lock", "draw", "post", "frame", "input" };
+
+    private final LogHistogram[] phases = new LogHistogram[NAMES.length];
+    private final LogHistogram[] drawByScale = new LogHistogram[RenderTarget.MAX_SCALE + 1];
+    private final AtomicLong frames = new AtomicLong();
+    private final AtomicLong jank = new AtomicLong();
+    private final AtomicLongArray rendered = new AtomicLongArray(GameState.values().length);
+    private final AtomicLong idles = new AtomicLong();
+    private final AtomicLong lastDrawCalls = new AtomicLong();
+    private final AtomicLong maxDrawCalls = new AtomicLong();
+
+    public FrameStats() {
+        for (int i = 0; i < phases.length; i++) phases[i] = new LogHistogram();
+        for (int i = 0; i < drawByScale.length; i++) drawByScale[i] = new LogHistogram();
+    }
+
+    public void record(int phase, long ns) {
+        phases[phase].record(ns);
+    }
+
+    /** The draw phase of a frame rendered at 1/scale resolution. */
+    public void recordDraw(int scale, long ns) {
+        phases[DRAW].record(ns);
+        drawByScale[scale].record(ns);
+    }
+
+    /** A whole frame, intervalNs after the previous one, against its target. */
+    public void frame(long intervalNs, long targetNs) {
+        phases[FRAME].record(intervalNs);
+        frames.incrementAndGet();
+        if (intervalNs * 2 > targetNs * 3) jank.incrementAndGet();
+    }
+
+    /** A frame was drawn showing state. */
+    public void rendered(GameState state) {
+        rendered.incrementAndGet(state.ordinal());
+    }
+
+    /** The loop parked after a frame nothing would change. */
+    public void idle() {
+        idles.incrementAndGet();
+    }
+
+    /** A frame was drawn with n Canvas draw calls. */
+    public void drawCalls(int n) {
+        lastDrawCalls.set(n);
+        if (n > maxDrawCalls.get()) maxDrawCalls.set(n);
+    }
+
+    public LogHistogram get(int phase) { return phases[phase]; }
+    public LogHistogram getDraw(int scale) { return drawByScale[scale]; }
+    public long getRendered(GameState state) { return rendered.get(state.ordinal()); }
+    public long getIdles() { return idles.get(); }
+    public long getLastDrawCalls() { return lastDrawCalls.get(); }
+    public long getMaxDrawCalls() { return maxDrawCalls.get(); }
+    public long getFrames() { return frames.get(); }
+    public long getJankFrames() { return jank.get(); }
+
+    public void reset() {
+        for (LogHistogram h : phases) h.reset();
+        for (LogHistogram h : drawByScale) h.reset();
+        frames.set(0);
+        jank.set(0);
+        for (int i = 0; i < rendered.length(); i++) rendered.set(i, 0);
+        idles.set(0);
+        lastDrawCalls.set(0);
+        maxDrawCalls.set(0);
+    }
+
+    /** Appends ns as milliseconds with two decimals, without allocating. */
+    static StringBuilder appendMs(StringBuilder sb, long ns) {
+        long hundredths = ns / 10_000L;
+        sb.append(hundredths / 100).append('.');
+        long frac = hundredths % 100;
+        if (frac < 10) sb.append('0');
+        return sb.append(frac);
+    }
+
+    /** Appends one "name p50 p95 p99 max" line for a phase. */
+    StringBuilder appendPhase(StringBuilder sb, int phase) {
+        return appendHistogram(sb.append(NAMES[phase]), phases[phase]);
+    }
+
+    private static StringBuilder appendHistogram(StringBuilder sb, LogHistogram h) {
+        sb.append(" p50 ");
+        appendMs(sb, h.percentile(0.50)).append(" p95 ");
+        appendMs(sb, h.percentile(0.95)).append(" p99 ");
+        appendMs(sb, h.percentile(0.99)).append(" max ");
+        return appendMs(sb, h.getMax()).append(" ms");
+    }
+
+    /** Multi-line report for logcat or a bug report attachment. */
+    public String dump() {
+        StringBuilder sb = new StringBuilder(512);
+        sb.append("frames ").append(getFrames())
+                .append(" jank ").append(getJankFrames()).append('\n');
+        for (int i = 0; i < phases.length; i++) appendPhase(sb, i).append('\n');
+        for (int s = 1; s < drawByScale.length; s++) {
+            if (drawByScale[s].getCount() == 0) continue;
+            appendHistogram(sb.append("draw 1/").append(s), drawByScale[s]).append('\n');
+        }
+        sb.append("rendered");
+        for (GameState s : GameState.values()) sb.append(' ').append(s).append(' ').append(getRendered(s));
+        sb.append(" idle ").append(getIdles()).append('\n');
+        sb.append("draw calls last ").append(getLastDrawCalls())
+                .append(" max ").append(getMaxDrawCalls()).append('\n');
+        return sb.toString();
+    }
+}
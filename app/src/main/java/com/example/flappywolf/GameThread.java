@@ -3,62 +3,172 @@ package com.example.flappywolf;
 import android.graphics.Canvas;
 import android.view.SurfaceHolder;
 
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * The one game loop thread for a GameView's lifetime. It is started once
+ * and parks whenever the activity is paused or there is no surface (see
+ * {@link LoopLifecycle}); {@link #quit()} ends it.
+ */
 public class GameThread extends Thread {
     private final SurfaceHolder holder;
     private final GameView view;
-    private boolean running = false;
-    private static final long FRAME_TIME = 1000 / 60; // ~60 FPS
+    private final FramePacer pacer;
+    private final LoopLifecycle lifecycle;
+    // set by wake(); cleared at the start of every frame
+    private volatile boolean wakeRequested = false;
+
+    // Simulation runs at a fixed 60 ticks/s regardless of how fast we render
+    static final long TICK_NS = 1_000_000_000L / 60;
+    // Never try to catch up more than this many ticks after a stall
+    private static final int MAX_TICKS_PER_FRAME = 5;
 
-    public GameThread(SurfaceHolder h, GameView v) {
+    public GameThread(SurfaceHolder h, GameView v, FramePacer p) {
         holder = h;
         view   = v;
+        pacer  = p;
+        lifecycle = new LoopLifecycle(p::stop);
+        setName("game-loop");
+    }
+
+    /** The activity was resumed or paused; pausing waits for the current frame. */
+    public void setResumed(boolean resumed) {
+        lifecycle.setResumed(resumed);
+    }
+
+    /** The surface was created or destroyed; losing it waits for the current frame. */
+    public void setSurfaceReady(boolean ready) {
+        lifecycle.setSurfaceReady(ready);
     }
 
-    public void setRunning(boolean run) {
-        running = run;
+    /** Stops the loop for good and waits for the thread to end. */
+    public void quit() {
+        lifecycle.destroy();
+        try {
+            join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Renders at least one more frame, ending an idle pause if there is
+     * one. Call on any touch, surface change or state change the loop
+     * cannot see by itself.
+     */
+    public void wake() {
+        wakeRequested = true;
+        LockSupport.unpark(this);
     }
 
     public boolean isRunning() {
-        return running;
+        return lifecycle.isRunning();
     }
 
     @Override
     public void run() {
-        while (running) {
-            long start = System.currentTimeMillis();
-            // 1) Update game logic
-            view.update();
+        while (lifecycle.awaitRunning()) runFrames();
+    }
+
+    /** Runs frames until the lifecycle leaves RUNNING. */
+    private void runFrames() {
+        pacer.start();
+        FrameStats stats = view.getFrameStats();
+        long previous = System.nanoTime();
+        long accumulator = 0;
+        // point in time the last tick stands for; simNs + accumulator == now
+        long simNs = previous;
+        boolean firstFrame = true;
+
+        while (lifecycle.isRunning()) {
+            // 0) Wait for our frame slot (vsync, or a fixed cadence)
+            long start;
+            try {
+                start = pacer.awaitFrame();
+            } catch (InterruptedException e) {
+                break;
+            }
+            if (!lifecycle.isRunning()) break;
+            // a wake from here on may bring something this frame misses
+            wakeRequested = false;
+            long elapsed = start - previous;
+            previous = start;
+            if (!firstFrame) stats.frame(elapsed, pacer.getFrameIntervalNs());
+            firstFrame = false;
+            if (elapsed > TICK_NS * MAX_TICKS_PER_FRAME) {
+                elapsed = TICK_NS * MAX_TICKS_PER_FRAME;
+            } else if (elapsed < 0) {
+                elapsed = 0;
+            }
+            accumulator += elapsed;
+            // after a clamped stall, skip the lost time rather than lag behind it
+            simNs = start - accumulator;
+
+            // 1) Advance the simulation in fixed steps
+            long t0 = System.nanoTime();
+            while (accumulator >= TICK_NS) {
+                simNs += TICK_NS;
+                view.update(simNs);
+                accumulator -= TICK_NS;
+            }
+            view.publishSnapshot();
+            long t1 = System.nanoTime();
+            stats.record(FrameStats.UPDATE, t1 - t0);
+            // A static screen is drawn once, fully settled, then we idle
+            boolean idle = view.isIdle();
+            // at its lowest quality the governor has us skip every other draw
+            if (!idle && !view.shouldDraw()) continue;
+            // How far we are between the last tick and the next one
+            float alpha = idle ? 1f : accumulator / (float) TICK_NS;
 
             // 2) Render
             Canvas canvas = null;
+            long t2 = t1;
             try {
-                // If the surface has been destroyed, stop the loop
-                if (!holder.getSurface().isValid()) break;
+                // surfaceDestroyed() is on its way and will park us
+                if (!holder.getSurface().isValid()) continue;
 
                 canvas = holder.lockCanvas();
+                t2 = System.nanoTime();
+                stats.record(FrameStats.LOCK, t2 - t1);
                 if (canvas != null) {
-                    view.draw(canvas);
+                    view.draw(canvas, alpha);
+                    stats.recordDraw(view.getRenderScale(), System.nanoTime() - t2);
                 }
             } catch (IllegalStateException e) {
-                // Surface was released unexpectedly
-                break;
+                // Surface was released unexpectedly; wait for surfaceDestroyed()
+                continue;
             } finally {
                 if (canvas != null) {
                     try {
+                        long t3 = System.nanoTime();
                         holder.unlockCanvasAndPost(canvas);
+                        long t4 = System.nanoTime();
+                        stats.record(FrameStats.POST, t4 - t3);
+                        // update, draw and post; lockCanvas() is the wait for a buffer
+                        view.getGovernor().frame((t1 - t0) + (t4 - t2), pacer.getFrameIntervalNs());
                     } catch (IllegalStateException ignored) {
                         // Ignore if it fails
                     }
                 }
             }
 
-            // 3) Cap frame rate
-            long delta = System.currentTimeMillis() - start;
-            long sleep = FRAME_TIME - delta;
-            if (sleep > 0) {
-                try { Thread.sleep(sleep); }
-                catch (InterruptedException ignored) {}
+            // 3) Nothing on screen can change by itself: park until woken
+            if (idle && lifecycle.isRunning() && !wakeRequested) {
+                stats.idle();
+                pacer.setIdle(true);
+                // a lifecycle change unparks us too
+                while (lifecycle.isRunning() && !wakeRequested) LockSupport.park(this);
+                pacer.setIdle(false);
+                // the pause is not a frame interval, and whatever woke us
+                // (usually a tap) gets a tick on the very next frame
+                previous = System.nanoTime();
+                accumulator = TICK_NS;
+                firstFrame = true;
+                // idle frames say nothing about how long real ones take
+                view.getGovernor().restartWindow();
             }
         }
+        pacer.stop();
     }
-}
\ No newline at end of file
+}
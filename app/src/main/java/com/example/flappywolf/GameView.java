@@ -4,14 +4,16 @@ import android.annotation.SuppressLint;
 import android.content.Context;
 import android.content.SharedPreferences;
 import android.graphics.Bitmap;
-import android.graphics.BitmapFactory;
 import android.graphics.Canvas;
-import android.graphics.Matrix;
 import android.graphics.Paint;
-import android.graphics.Rect;
 import android.graphics.RectF;
 import android.graphics.Typeface;
 import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.util.Log;
+import android.util.SparseArray;
+import android.view.Display;
 import android.view.DisplayCutout;
 import android.view.MotionEvent;
 import android.view.SurfaceHolder;
@@ -20,38 +22,126 @@ import android.view.WindowInsets;
 
 import androidx.core.content.res.ResourcesCompat;
 
-import java.util.ArrayList;
-import java.util.Iterator;
-import java.util.List;
-import java.util.Random;
+import com.example.flappywolf.engine.GameState;
+import com.example.flappywolf.engine.GhostReader;
+import com.example.flappywolf.engine.GhostWriter;
+import com.example.flappywolf.engine.InputQueue;
+import com.example.flappywolf.engine.ParticleSystem;
+import com.example.flappywolf.engine.Recording;
+import com.example.flappywolf.engine.RenderSnapshot;
+import com.example.flappywolf.engine.RunHistory;
+import com.example.flappywolf.engine.SessionRecorder;
+import com.example.flappywolf.engine.TripleBuffer;
+import com.example.flappywolf.engine.World;
+
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class GameView extends SurfaceView implements SurfaceHolder.Callback {
     private GameThread thread;
+    // UI thread: the activity's resumed state, handed to a loop created later
+    private boolean resumed;
     private Bitmap background, modalBg, modalBtn;
-    private Rect backgroundDest;    // <-- full-screen dest rect
+    // screen-sized copies of the above, see scaleSprites(); game thread only
+    private Bitmap backgroundScaled, modalBgScaled, modalBtnScaled;
+    // surface size (w << 32 | h) the sprites still have to be scaled to, or
+    // -1; set on the UI thread, applied by the game thread before it draws
+    private final AtomicLong pendingSize = new AtomicLong(-1);
+    // the same for the world's playfield, applied by update() before it ticks
+    private final AtomicLong pendingWorldSize = new AtomicLong(-1);
+    private final SpriteCache sprites = new SpriteCache();
+    // holds this view's references into AssetRegistry until releaseAssets()
+    private AssetLoader assetLoader;
+    private static final String TAG = "GameView";
+    // false falls back to the sleep-based cadence
+    private static final boolean VSYNC_PACING = true;
+    // set on the UI thread once loading finished and sprites are usable
+    private volatile boolean assetsReady = false;
+    private boolean released = false;
+    private boolean firstFrameLogged = false;
+    private final FrameStats frameStats = new FrameStats();
+    private PerfOverlay perfOverlay;
+    // toggled with a three-finger tap
+    private volatile boolean showPerfOverlay = false;
     private Bird bird;
-    private List<Pipe> pipes;
-    private List<Coin> coins;
-    private int score, bestScore;
+    private final Pipe pipeSprite = new Pipe();
+    private final Coin coinSprite = new Coin();
+    // pipes and coins go out as one drawVertices call from a shared atlas
+    private final SpriteAtlas atlas = new SpriteAtlas();
+    private final SpriteBatch batch = new SpriteBatch(256);
+    // game thread only: sparkles and feathers, drawn as one more batch
+    private final ParticleSystem particles = new ParticleSystem(2048);
+    private final SpriteBatch particleBatch = new SpriteBatch(2048);
+    private final CountingCanvas counting = new CountingCanvas();
+    // draws at 1/scale and upscales; 0 picks a scale from the surface size
+    private final RenderTarget renderTarget = new RenderTarget();
+    private volatile int renderScale;
+    // game thread only: steps the features below down when frames run long
+    private final QualityGovernor governor = new QualityGovernor();
+    private int appliedQuality = -1;
+    private boolean skipNextFrame = false;
+    private final Paint backgroundPaint = new Paint();
+    private World world;
+    // written by update(), read by draw(); they may run on different threads
+    private final TripleBuffer<RenderSnapshot> snapshots =
+            new TripleBuffer<>(RenderSnapshot::new);
+    // taps from the UI thread, applied by update() on the game thread
+    private final InputQueue input = new InputQueue(64);
+    // game thread only: the last jump tap not yet seen on screen
+    private long jumpEventNs = -1, jumpTick;
+    // every run is recorded; the last finished one is saved on pause
+    private final SessionRecorder recorder = new SessionRecorder();
+    private volatile Recording lastRun;
+    // game thread only: this run's track, and the best run playing alongside
+    private final GhostWriter ghostTrack = new GhostWriter(64 * 1024);
+    private GhostReader ghost;
+    private boolean trackingGhost = false;
+    // mapped on the io thread; picked up when the next run starts
+    private volatile GhostReader nextGhost;
+    private final Paint ghostPaint = new Paint();
+    private static final String GHOST_FILE = "ghost.fwg";
+    // the world as of the last pause, so a run survives the process being killed
+    private static final String WORLD_FILE = "world.fws";
+    private ByteBuffer worldState = ByteBuffer.allocate(4096);
+    // read on the io thread at startup, applied by the first update()
+    private volatile ByteBuffer pendingRestore;
+    // file writes off the game thread
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "game-io");
+        t.setDaemon(true);
+        return t;
+    });
     private SharedPreferences prefs;
-    private GameState state;
-
-    private Paint textPaint;
+    // every finished run; opened on the io thread, appended on the game thread,
+    // written by its own thread. Null until open, or for good if it cannot be
+    private volatile RunHistory history;
+    // game thread only: whether the history's best has reached the world
+    private boolean historyBestApplied;
+    private static final String HISTORY_DIR = "history";
+    private static final int HISTORY_TOP = 10;
+    // game thread only: when the current run started, for the run history
+    private final RunTiming runTiming = new RunTiming();
+    // game thread only: a restored run holds still until the player taps
+    private boolean awaitingResumeTap;
+    // game thread only: a run was started since launch, so a late restore loses
+    private boolean startedSinceLaunch;
+
+    private GlyphAtlas glyphs;
     private RectF modalRect, btnRestartRect;
-    private final Random random = new Random();
 
     private int cutoutTop = 0;
     private float statusBarHeight = 0f;
 
-    private static final float PIPE_WIDTH_FACTOR = 5f;
-    private static final float PIPE_GAP_FACTOR   = 4f;
-    private static final float PIPE_SPACING      = 600f;
-    private static final float SPEED             = 8f;
-
-    private float spawnTimer = 0f;
-
-    private enum GameState { START, PLAYING, FALLING, GAMEOVER }
-
     public GameView(Context context) {
         super(context);
         getHolder().addCallback(this);
@@ -68,81 +158,225 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
         requestApplyInsets();
 
         prefs = context.getSharedPreferences("game", Context.MODE_PRIVATE);
+        renderScale = prefs.getInt("render_scale", 0);
+        initHud();
         loadAssets();
-        initGame();
-        initTextPaint();
+        ghostPaint.setAlpha(96);
+        io.execute(this::openHistory);
+        io.execute(this::loadGhost);
+        io.execute(this::loadWorld);
     }
 
+    /**
+     * Decodes everything in the background, each asset subsampled to
+     * roughly its on-screen size; until done the START placeholder shows.
+     */
     private void loadAssets() {
-        // load bitmaps but NOT scaled yet
-        background = BitmapFactory.decodeResource(getResources(), R.drawable.background);
-        modalBg    = BitmapFactory.decodeResource(getResources(), R.drawable.modal_background);
-        modalBtn   = BitmapFactory.decodeResource(getResources(), R.drawable.modal_button);
-
-        // preload pipe & coin raw bitmaps into static fields
-        Pipe.RAW_HEAD = BitmapFactory.decodeResource(getResources(), R.drawable.pipe_head);
-        Pipe.RAW_BODY = BitmapFactory.decodeResource(getResources(), R.drawable.pipe_body);
-        Matrix flip = new Matrix();
-        flip.preScale(1f, -1f);
-        Pipe.RAW_HEAD_FLIPPED = Bitmap.createBitmap(
-                Pipe.RAW_HEAD, 0,0, Pipe.RAW_HEAD.getWidth(),Pipe.RAW_HEAD.getHeight(),
-                flip, true
-        );
-
-        Coin.RAW_FRONT = BitmapFactory.decodeResource(getResources(), R.drawable.coin_front);
-        Coin.RAW_SIDE  = BitmapFactory.decodeResource(getResources(), R.drawable.coin_side);
-    }
-
-    private void initGame() {
-        BitmapHelper helper = new BitmapHelper(getContext());
-        bird      = new Bird(getContext(), helper);
-        pipes     = new ArrayList<>();
-        coins     = new ArrayList<>();
-        score     = 0;
-        bestScore = prefs.getInt("best_score",0);
-        state     = GameState.START;
-        spawnTimer=0f;
-
-        float w   = helper.screenWidth;
-        float h   = helper.screenHeight;
-        float gap = h / PIPE_GAP_FACTOR;
-        float cY  = h * .5f;
-        float pW  = w / PIPE_WIDTH_FACTOR;
-        float spawnX = w + pW*1.5f;
-
-        pipes.add(new Pipe(cY, pW, gap, true,  h, w));
-        pipes.add(new Pipe(cY, pW, gap, false, h, w));
-        coins.add(new Coin(spawnX + pW/2f, cY, pW*0.6f));
-    }
-
-    private void initTextPaint() {
+        BitmapHelper h = new BitmapHelper(getContext());
+        int sw = h.screenWidth, sh = h.screenHeight;
+        int pW = (int)(sw / World.PIPE_WIDTH_FACTOR);
+        assetLoader = new AssetLoader(h)
+                .sampled(R.drawable.background, sw, sh)
+                .sampled(R.drawable.modal_background, (int)(sw*.8f), 1)
+                .sampled(R.drawable.modal_button, (int)(sw*.48f), 1)
+                .sampled(R.drawable.pipe_head, pW, 1)
+                .sampled(R.drawable.pipe_body, pW, sh)
+                .sampled(R.drawable.coin_front, (int)(pW*0.6f), (int)(pW*0.6f))
+                .sampled(R.drawable.coin_side, (int)(pW*0.6f), (int)(pW*0.6f))
+                .scaledWidth(R.drawable.bird_neutral, sw / 8)
+                .scaledWidth(R.drawable.bird_happy, sw / 8)
+                .scaledWidth(R.drawable.bird_hurt, sw / 8);
+        assetLoader.start((assets, ms) -> post(() -> onAssetsLoaded(assets, ms, h)));
+    }
+
+    private void onAssetsLoaded(SparseArray<Bitmap> assets, long ms, BitmapHelper h) {
+        Log.i(TAG, "assets loaded in " + ms + " ms");
+        if (released) {
+            // view went away while we were loading
+            assetLoader.release();
+            return;
+        }
+        background = assets.get(R.drawable.background);
+        modalBg    = assets.get(R.drawable.modal_background);
+        modalBtn   = assets.get(R.drawable.modal_button);
+
+        // pipe & coin raw bitmaps go into static fields
+        Pipe.RAW_HEAD  = assets.get(R.drawable.pipe_head);
+        Pipe.RAW_BODY  = assets.get(R.drawable.pipe_body);
+        Coin.RAW_FRONT = assets.get(R.drawable.coin_front);
+        Coin.RAW_SIDE  = assets.get(R.drawable.coin_side);
+
+        bird = new Bird(assets.get(R.drawable.bird_neutral),
+                assets.get(R.drawable.bird_happy), assets.get(R.drawable.bird_hurt));
+        initGame(h);
+        if (getWidth() > 0) {
+            world.resize(getWidth(), getHeight());
+            world.reset();
+            prepareSprites(getWidth(), getHeight());
+        }
+        assetsReady = true;
+        requestFrame();
+    }
+
+    /** Wakes the game loop for at least one frame if it is idling. */
+    private void requestFrame() {
+        GameThread t = thread;
+        if (t != null) t.wake();
+    }
+
+    /**
+     * Whether the frame about to be drawn stays correct until something
+     * wakes the loop: START and GAMEOVER are static, as is the loading
+     * placeholder. Game thread only.
+     */
+    public boolean isIdle(){
+        if(showPerfOverlay) return false;
+        if(!assetsReady) return true;
+        GameState s=world.getState();
+        return input.isEmpty()&&particles.size()==0
+                &&(awaitingResumeTap||s==GameState.START||s==GameState.GAMEOVER);
+    }
+
+    /** Hands every bitmap back; the view cannot draw after this. */
+    private void releaseAssets() {
+        released = true;
+        if (!assetsReady) return;  // onAssetsLoaded will release them
+        assetsReady = false;
+        assetLoader.release();
+        background = modalBg = modalBtn = null;
+        Pipe.RAW_HEAD = Pipe.RAW_BODY = null;
+        Coin.RAW_FRONT = Coin.RAW_SIDE = null;
+        sprites.clear();
+        atlas.recycle();
+    }
+
+    @Override protected void onDetachedFromWindow() {
+        super.onDetachedFromWindow();
+        // the loop must be gone before the bitmaps it draws are
+        if (thread != null) {
+            thread.quit();
+            thread = null;
+        }
+        releaseAssets();
+        glyphs.recycle();
+        renderTarget.release();
+    }
+
+    private void initGame(BitmapHelper helper) {
+        world = new World(helper.screenWidth, helper.screenHeight,
+                bird.getWidth(), bird.getHeight());
+        // best_score is the pre-history pref, read once so old bests carry over;
+        // the history's best is added by update() once it is open
+        world.setBestScore(prefs.getInt("best_score",0));
+        world.setListener(new World.Listener(){
+            // the run history records it along with the run
+            @Override public void onNewBestScore(int best){}
+            // called from world.tick(), i.e. on the game thread
+            @Override public void onCoinCollected(float x,float y){
+                float s=bird.getWidth();
+                particles.burst(ParticleSystem.SPARKLE,24,x,y,s*0.06f,-world.getRules().speed,0f,30);
+            }
+            @Override public void onCrash(float x,float y){
+                float s=bird.getWidth();
+                particles.burst(ParticleSystem.FEATHER,40,x,y,s*0.1f,0f,s*0.002f,90);
+            }
+        });
+    }
+
+    private void initHud() {
         Typeface font = ResourcesCompat.getFont(getContext(), R.font.press_start_2p);
-        textPaint = new Paint(Paint.ANTI_ALIAS_FLAG);
-        textPaint.setTextSize(64);
-        textPaint.setTypeface(font);
+        glyphs = new GlyphAtlas(font);
 
         int resId = getResources().getIdentifier("status_bar_height","dimen","android");
         if(resId>0) statusBarHeight = getResources().getDimensionPixelSize(resId);
+
+        perfOverlay = new PerfOverlay(frameStats, 28);
     }
 
     @Override public void surfaceCreated(SurfaceHolder holder) {
-        // compute full-screen backgroundDest now that view size is known
-        backgroundDest = new Rect(0,0,getWidth(),getHeight());
-        initModalLayout();
+        // scale sprites now that view size is known
+        if(assetsReady) prepareSprites(getWidth(),getHeight());
 
-        thread = new GameThread(getHolder(),this);
-        thread.setRunning(true);
-        thread.start();
+        loop().setSurfaceReady(true);
+    }
+    @Override public void surfaceChanged(SurfaceHolder h,int f,int w,int h2){
+        if(assetsReady&&w>0&&h2>0){
+            // the game thread may be ticking the world; it resizes it itself
+            pendingWorldSize.set((long)w<<32|h2);
+            prepareSprites(w,h2);
+        }  // else onAssetsLoaded picks up the size
+        requestFrame();
     }
-    @Override public void surfaceChanged(SurfaceHolder h,int f,int w,int h2){}
     @Override public void surfaceDestroyed(SurfaceHolder holder) {
-        thread.setRunning(false);
-        try{ thread.join(); }catch(InterruptedException ignored){}
-        thread=null;
+        // returns once the loop is parked and off the surface
+        if(thread!=null) thread.setSurfaceReady(false);
     }
 
-    private void initModalLayout() {
-        float sw=getWidth(), sh=getHeight();
+    /**
+     * The game loop thread, started with the first surface and kept until
+     * detach; only surfaceCreated() may start one.
+     */
+    private GameThread loop(){
+        if(thread==null){
+            thread=new GameThread(getHolder(),this,createPacer());
+            thread.start();
+            thread.setResumed(resumed);
+        }
+        return thread;
+    }
+
+    /**
+     * Prepares every sprite for a w x h surface. The work happens on the
+     * game thread before its next draw: rescaling recycles bitmaps, and
+     * rebuilding the atlas redraws the bitmap and replaces the shader the
+     * loop may be drawing with.
+     */
+    private void prepareSprites(int w,int h){
+        if(w<=0||h<=0) return;
+        pendingSize.set((long)w<<32|h);
+        requestFrame();
+    }
+
+    /** Game thread: rescales to the latest surface size, if it changed. */
+    private void applyPendingSize(){
+        if(!assetsReady) return;
+        long size=pendingSize.getAndSet(-1);
+        if(size>=0) scaleSprites((int)(size>>>32),(int)size);
+    }
+
+    /**
+     * Scales the screen-sized sprites and the atlas once to a w x h
+     * surface; cheap when the size did not change since the last call.
+     * Game thread only.
+     */
+    private void scaleSprites(int w,int h){
+        initModalLayout(w,h);
+        world.setRestartButton(btnRestartRect.left,btnRestartRect.top,
+                btnRestartRect.right,btnRestartRect.bottom);
+        backgroundScaled=sprites.get(R.drawable.background,background,w,h);
+        modalBgScaled=sprites.get(R.drawable.modal_background,modalBg,
+                Math.round(modalRect.width()),Math.round(modalRect.height()));
+        modalBtnScaled=sprites.get(R.drawable.modal_button,modalBtn,
+                Math.round(btnRestartRect.width()),Math.round(btnRestartRect.height()));
+
+        // w, not the world's width: update() may not have resized it yet
+        int pW=Math.round(w/World.PIPE_WIDTH_FACTOR);
+        atlas.layout(pW,Pipe.headHeight(pW),h,Math.round(pW*0.6f));
+        atlas.render(Pipe.RAW_HEAD,Pipe.RAW_BODY,Coin.RAW_FRONT,Coin.RAW_SIDE);
+        batch.setAtlas(atlas);
+        batch.bindBitmap();
+        particleBatch.setAtlas(atlas);
+        particleBatch.bindBitmap();
+    }
+
+    private FramePacer createPacer(){
+        Display d=getDisplay();
+        float hz=d!=null&&d.getRefreshRate()>0 ? d.getRefreshRate() : 60f;
+        if(VSYNC_PACING) return new VsyncPacer(hz);
+        return new SleepPacer(FrameClock.SYSTEM,(long)(1_000_000_000L/hz));
+    }
+
+    private void initModalLayout(float sw,float sh) {
         float pw=sw*.8f, ph=pw*(modalBg.getHeight()/(float)modalBg.getWidth());
         float lx=(sw-pw)/2f, ty=(sh-ph)/2f;
         modalRect = new RectF(lx,ty,lx+pw,ty+ph);
@@ -155,166 +389,406 @@ public class GameView extends SurfaceView implements SurfaceHolder.Callback {
 
     @Override
     public boolean onTouchEvent(MotionEvent e) {
-        if(e.getAction()!=MotionEvent.ACTION_DOWN) return super.onTouchEvent(e);
-        if(state==GameState.START){
-            state=GameState.PLAYING;
-            pipes.clear(); coins.clear(); score=0;
+        if(e.getActionMasked()==MotionEvent.ACTION_POINTER_DOWN&&e.getPointerCount()==3){
+            showPerfOverlay=!showPerfOverlay;
+            requestFrame();
+            return true;
         }
-        else if(state==GameState.PLAYING) bird.jump();
-        else if(state==GameState.GAMEOVER){
-            float x=e.getX(), y=e.getY();
-            if(btnRestartRect.contains(x,y)) initGame();
+        if(e.getActionMasked()==MotionEvent.ACTION_POINTER_DOWN&&e.getPointerCount()==4){
+            // cycle the render scale; the stats dump has draw times per scale
+            renderScale=renderTarget.getScale()%3+1;
+            prefs.edit().putInt("render_scale",renderScale).apply();
+            requestFrame();
+            return true;
         }
+        if(e.getAction()!=MotionEvent.ACTION_DOWN) return super.onTouchEvent(e);
+        if(!assetsReady) return true;
+        // both event clocks and System.nanoTime() share CLOCK_MONOTONIC on Android;
+        // before API 34 only whole milliseconds are exposed, so the tick a tap
+        // lands in can be off by one when it arrives within 1 ms of a boundary
+        long timeNs=Build.VERSION.SDK_INT>=Build.VERSION_CODES.UPSIDE_DOWN_CAKE
+                ?e.getEventTimeNanos():e.getEventTime()*1_000_000L;
+        // where the tap lands in the upscaled picture, in world coordinates
+        input.offer(timeNs,renderTarget.mapX(e.getX()),renderTarget.mapY(e.getY()));
+        requestFrame();
         return true;
     }
 
-    public void update(){
-        if(state==GameState.FALLING){
-            bird.update();
-            float floor=getHeight()-bird.getHeight();
-            if(bird.getY()>=floor){
-                bird.setY(floor);
-                if(score>bestScore){
-                    bestScore=score;
-                    prefs.edit().putInt("best_score",bestScore).apply();
-                }
-                state=GameState.GAMEOVER;
+    /**
+     * Runs one simulation tick representing time tickTimeNs, first applying
+     * every queued tap that happened up to that moment.
+     */
+    public void update(long tickTimeNs){
+        if(!assetsReady){ input.clear(); return; }
+        // before any restore, so its size check sees the current surface
+        long size=pendingWorldSize.getAndSet(-1);
+        if(size>=0) world.resize((int)(size>>>32),(int)size);
+        ByteBuffer restore=pendingRestore;
+        if(restore!=null){
+            pendingRestore=null;
+            if(!startedSinceLaunch) restoreWorld(restore,tickTimeNs);
+            else Log.i(TAG,"dropped the saved run, a new one was started while it loaded");
+        }
+        RunHistory h=history;
+        if(h!=null&&!historyBestApplied){
+            world.setBestScore(Math.max(world.getBestScore(),h.getBestScore()));
+            historyBestApplied=true;
+        }
+        while(!input.isEmpty()&&input.peekTime()<=tickTimeNs){
+            boolean jump=world.getState()==GameState.PLAYING;
+            boolean starting=world.getState()==GameState.START;
+            if(awaitingResumeTap){
+                // the restored run starts over from here, and this tap flaps
+                awaitingResumeTap=false;
+                runTiming.started(input.peekTime(),world.getTickCount());
+            }
+            recorder.beforeTap(world);
+            world.tap(input.peekX(),input.peekY());
+            if(starting&&world.getState()==GameState.PLAYING){
+                runTiming.started(input.peekTime(),world.getTickCount());
+                startedSinceLaunch=true;
+                startGhost();
             }
+            if(jump){
+                // shows up in the snapshot of the tick we are about to run
+                jumpEventNs=input.peekTime();
+                jumpTick=world.getTickCount()+1;
+            }
+            input.remove();
+        }
+        if(awaitingResumeTap) return;
+        boolean wasOver=world.getState()==GameState.GAMEOVER;
+        world.tick();
+        particles.update();
+        Recording run=recorder.afterTick(world);
+        if(run!=null) lastRun=run;
+        // restored runs too, which the recorder missed the start of
+        if(!wasOver&&world.getState()==GameState.GAMEOVER) recordRun(tickTimeNs);
+        if(trackingGhost){
+            ghostTrack.append(world.getBird());
+            if(ghost!=null) ghost.advance();
+            if(world.getState()==GameState.GAMEOVER) finishGhost();
+        }
+    }
+
+    /**
+     * Io thread: opens the run history from its summary, which is small;
+     * falls back to no history (and the old best_score pref) if the files
+     * are unusable.
+     */
+    private void openHistory(){
+        try{
+            history=RunHistory.open(new File(getContext().getFilesDir(),HISTORY_DIR),HISTORY_TOP);
+        }catch(IOException e){
+            Log.w(TAG,"could not open run history",e);
+        }
+    }
+
+    /** Queues the finished run; the history's writer thread does the I/O. */
+    private void recordRun(long endNs){
+        RunHistory h=history;
+        boolean timed=runTiming.isKnown();
+        runTiming.finished();
+        if(h==null||!timed) return;
+        // the writer retries on this append; say why it stopped last time
+        Exception failure=h.takeFailure();
+        if(failure!=null) Log.w(TAG,"run history write failed",failure);
+        h.append(world.getScore(),world.getCoinsCollected(),runTiming.durationMs(endNs),
+                runTiming.ticks(world.getTickCount()),world.getSeed(),System.currentTimeMillis());
+    }
+
+    private void startGhost(){
+        ghostTrack.begin();
+        trackingGhost=true;
+        ghost=nextGhost;
+        if(ghost!=null) ghost.rewind();
+    }
+
+    /** A new best (ties included) becomes the ghost for the runs after it. */
+    private void finishGhost(){
+        trackingGhost=false;
+        if(world.getScore()==0||world.getScore()<world.getBestScore()) return;
+        byte[] track=ghostTrack.toByteArray();
+        io.execute(()->saveGhost(track));
+    }
+
+    private void saveGhost(byte[] track){
+        File dir=getContext().getFilesDir();
+        File tmp=new File(dir,GHOST_FILE+".tmp");
+        try(FileOutputStream out=new FileOutputStream(tmp)){
+            out.write(track);
+        }catch(IOException e){
+            Log.w(TAG,"could not save ghost",e);
             return;
         }
-        if(state!=GameState.PLAYING) return;
-
-        bird.update();
-        spawnTimer+=SPEED;
-        if(spawnTimer>=PIPE_SPACING){
-            spawnTimer-=PIPE_SPACING;
-            float sw=getWidth(), sh=getHeight();
-            float gap=sh/PIPE_GAP_FACTOR;
-            float cY=sh*(.3f+random.nextFloat()*.4f);
-            float pW=sw/PIPE_WIDTH_FACTOR;
-            pipes.add(new Pipe(cY,pW,gap,true,sh,sw));
-            pipes.add(new Pipe(cY,pW,gap,false,sh,sw));
-            coins.add(new Coin(sw+pW/2f,cY,pW*0.6f));
+        // a ghost still mapped from the old file keeps playing fine
+        if(!tmp.renameTo(new File(dir,GHOST_FILE))){
+            Log.w(TAG,"could not replace ghost");
+            return;
         }
+        loadGhost();
+    }
 
-        Iterator<Pipe> pit=pipes.iterator();
-        while(pit.hasNext()){
-            Pipe p=pit.next(); p.update();
-            if(p.getX()+p.getWidth()<0){ pit.remove(); continue;}
-            if(p.collidesWith(bird)){
-                bird.die(); state=GameState.FALLING;
-            }
-            if(!p.isTop()&&!p.isScored()&&p.getX()+p.getWidth()<bird.getX()){
-                score++; p.setScored(true);
-            }
+    private void loadGhost(){
+        File f=new File(getContext().getFilesDir(),GHOST_FILE);
+        if(!f.exists()) return;
+        try{
+            nextGhost=GhostReader.open(f);
+        }catch(IOException e){
+            Log.w(TAG,"could not load ghost",e);
         }
+    }
 
-        Iterator<Coin> cit=coins.iterator();
-        while(cit.hasNext()){
-            Coin c=cit.next(); c.update();
-            if(c.getX()+c.getWidth()<0){ cit.remove(); continue; }
-            if(c.collidesWith(bird)){
-                score++; cit.remove();
-            }
+    private void loadWorld(){
+        File f=new File(getContext().getFilesDir(),WORLD_FILE);
+        if(!f.exists()) return;
+        byte[] bytes=new byte[(int)f.length()];
+        try(DataInputStream in=new DataInputStream(new FileInputStream(f))){
+            in.readFully(bytes);
+            pendingRestore=ByteBuffer.wrap(bytes);
+        }catch(IOException e){
+            Log.w(TAG,"could not load world",e);
         }
+    }
 
-        if(bird.getY()<0){
-            bird.setY(0); bird.die(); state=GameState.FALLING;
+    /**
+     * Game thread only; a snapshot that does not fit this screen is dropped.
+     * The recorder and ghost missed the start of a restored run, so it is
+     * neither recorded nor raced against; it still reaches the run history.
+     * A run restored mid-flight waits for a tap, rather than dropping the
+     * bird into a pipe before the player has even seen the screen; one
+     * restored while falling just lands, timed from nowNs.
+     */
+    private void restoreWorld(ByteBuffer state,long nowNs){
+        try{
+            world.restoreState(state);
+            awaitingResumeTap=world.getState()==GameState.PLAYING;
+            runTiming.restored(world.getState(),nowNs,world.getTickCount());
+            Log.i(TAG,"restored "+world.getState()+" at score "+world.getScore());
+        }catch(IOException e){
+            Log.w(TAG,"could not restore world",e);
         }
-        if(bird.getY()+bird.getHeight()>getHeight()){
-            bird.setY(getHeight()-bird.getHeight());
-            if(score>bestScore){
-                bestScore=score;
-                prefs.edit().putInt("best_score",bestScore).apply();
-            }
-            state=GameState.GAMEOVER;
+    }
+
+    /** Snapshots the world, which must not be ticking, and writes it on the io thread. */
+    private void saveWorld(){
+        if(!assetsReady) return;
+        if(worldState.capacity()<world.snapshotBytes()){
+            worldState=ByteBuffer.allocate(world.snapshotBytes()*2);
+        }
+        worldState.clear();
+        world.saveState(worldState);
+        byte[] bytes=Arrays.copyOf(worldState.array(),worldState.position());
+        io.execute(()->writeWorld(bytes));
+    }
+
+    private void writeWorld(byte[] bytes){
+        File dir=getContext().getFilesDir();
+        File tmp=new File(dir,WORLD_FILE+".tmp");
+        try(FileOutputStream out=new FileOutputStream(tmp)){
+            out.write(bytes);
+        }catch(IOException e){
+            Log.w(TAG,"could not save world",e);
+            return;
         }
+        if(!tmp.renameTo(new File(dir,WORLD_FILE))) Log.w(TAG,"could not replace world");
+    }
+
+    /** Hands the renderer a copy of the world as of the last update(). */
+    public void publishSnapshot(){
+        if(!assetsReady) return;
+        RenderSnapshot snap=snapshots.back();
+        snap.capture(world);
+        snap.awaitingTap=awaitingResumeTap;
+        snap.captureGhost(ghost);
+        snap.captureParticles(particles);
+        snapshots.publish();
     }
 
     @SuppressLint("MissingSuperCall")
-    @Override public void draw(Canvas canvas){
-        if(canvas==null) return;
+    @Override public void draw(Canvas canvas){ draw(canvas,1f); }
+
+    /**
+     * Renders the scene; alpha is the fraction of a tick elapsed since the
+     * last update, used to interpolate moving entities.
+     */
+    public void draw(Canvas c,float alpha){
+        if(c==null) return;
+        applyPendingSize();
+        int quality=governor.getLevel();
+        int scale=renderScale>0?renderScale:RenderTarget.autoScale(c.getWidth(),c.getHeight());
+        renderTarget.configure(scale+QualityGovernor.extraScale(quality),c.getWidth(),c.getHeight());
+        if(quality!=appliedQuality){
+            appliedQuality=quality;
+            // sprites and background only; the low-res upscale stays
+            // nearest neighbour at every level to keep the pixel art crisp
+            boolean filter=QualityGovernor.filtersBitmaps(quality);
+            batch.setFilter(filter);
+            particleBatch.setFilter(filter);
+            backgroundPaint.setFilterBitmap(filter);
+        }
+        CountingCanvas canvas=counting.wrap(renderTarget.begin(c));
+        drawFrame(canvas,alpha);
+        int calls=canvas.getDrawCalls();
+        if(renderTarget.end(c)) calls++;
+        frameStats.drawCalls(calls);
+    }
 
-        // draw stretched background
-        canvas.drawBitmap(background,null,backgroundDest,null);
+    /**
+     * False for frames the quality governor drops to halve the frame
+     * rate; the simulation still advances, only the draw is skipped.
+     */
+    public boolean shouldDraw(){
+        if(!QualityGovernor.halfRate(governor.getLevel())) return true;
+        skipNextFrame=!skipNextFrame;
+        return !skipNextFrame;
+    }
 
-        //for(Pipe p:new ArrayList<>(pipes)) p.draw(canvas);
-        //for(Coin c:new ArrayList<>(coins)) c.draw(canvas);
+    public QualityGovernor getGovernor(){ return governor; }
 
-        synchronized (pipes) {
-            for (Pipe p : pipes) {
-                p.draw(canvas);
-            }
+    /** Scale the last frame was drawn at, see {@link RenderTarget}. */
+    public int getRenderScale(){ return renderTarget.getScale(); }
+
+    private void drawFrame(CountingCanvas canvas,float alpha){
+        RenderSnapshot snap=snapshots.latest();
+        frameStats.rendered(snap.valid?snap.state:GameState.START);
+        if(!assetsReady||!snap.valid){
+            // START screen placeholder while assets decode
+            canvas.drawColor(0xFF4EC0CA);
+            glyphs.drawLabel(canvas,GlyphAtlas.LABEL_TAP,getWidth()*.5f,getHeight()*.5f);
+            return;
+        }
+        if(!firstFrameLogged){
+            firstFrameLogged=true;
+            Log.i(TAG,"time to first frame: "
+                    +(SystemClock.uptimeMillis()-Process.getStartUptimeMillis())+" ms");
+        }
+
+        if(jumpEventNs>=0&&snap.tick>=jumpTick){
+            frameStats.record(FrameStats.INPUT,System.nanoTime()-jumpEventNs);
+            jumpEventNs=-1;
+        }
+
+        // draw pre-scaled background, or just the sky when frames run long
+        int quality=appliedQuality;
+        if(QualityGovernor.detailedBackground(quality)) canvas.drawBitmap(backgroundScaled,0,0,backgroundPaint);
+        else canvas.drawColor(0xFF4EC0CA);
+
+        batch.begin(canvas);
+        for (int i=0;i<snap.pipeCount;i++) {
+            float x=snap.pipePrevX[i]+(snap.pipeX[i]-snap.pipePrevX[i])*alpha;
+            pipeSprite.draw(batch,x,snap.pipeTop[i],snap.pipeHeight[i],snap.pipeIsTop[i]);
+        }
+        for (int i=0;i<snap.coinCount;i++) {
+            float x=snap.coinPrevX[i]+(snap.coinX[i]-snap.coinPrevX[i])*alpha;
+            coinSprite.draw(batch,x,snap.coinY[i],
+                    !QualityGovernor.animatesCoins(quality)||snap.coinFront[i]);
         }
-        synchronized (coins) {
-            for (Coin c : coins) {
-                c.draw(canvas);
+        batch.end();
+
+        if(snap.ghostVisible&&(snap.state==GameState.PLAYING||snap.state==GameState.FALLING)){
+            float ghostY=snap.ghostPrevY+(snap.ghostY-snap.ghostPrevY)*alpha;
+            bird.draw(canvas,snap.ghostMood,snap.birdX,ghostY,ghostPaint);
+        }
+        float birdY=snap.birdPrevY+(snap.birdY-snap.birdPrevY)*alpha;
+        bird.draw(canvas,snap.birdMood,snap.birdX,birdY);
+
+        // every particle in one more call, shrinking as it dies out
+        if(snap.particleCount>0){
+            particleBatch.begin(canvas);
+            for(int i=0;i<snap.particleCount;i++){
+                float x=snap.particlePrevX[i]+(snap.particleX[i]-snap.particlePrevX[i])*alpha;
+                float y=snap.particlePrevY[i]+(snap.particleY[i]-snap.particlePrevY[i])*alpha;
+                int region=snap.particleSprite[i]==ParticleSystem.SPARKLE
+                        ?SpriteAtlas.SPARKLE:SpriteAtlas.FEATHER;
+                particleBatch.addCentered(region,x,y,0.3f+0.7f*snap.particleLife[i]);
             }
+            particleBatch.end();
         }
 
-        bird.draw(canvas);
+        GameState state=snap.state;
 
         // HUD score below notch/status bar
         if(state!=GameState.START){
-            String s=String.valueOf(score);
-            float sw=textPaint.measureText(s),
-                    cx=getWidth()*.5f,
-                    sy=(cutoutTop>0?cutoutTop:statusBarHeight)
-                            + textPaint.getTextSize()*2f;
-
-            textPaint.setStyle(Paint.Style.STROKE);
-            textPaint.setStrokeWidth(8);
-            textPaint.setColor(0xFF000000);
-            canvas.drawText(s,cx-sw/2f,sy,textPaint);
-
-            textPaint.setStyle(Paint.Style.FILL);
-            textPaint.setColor(0xFFFFFFFF);
-            canvas.drawText(s,cx-sw/2f,sy,textPaint);
+            float sy=(cutoutTop>0?cutoutTop:statusBarHeight) + GlyphAtlas.SMALL*2f;
+            glyphs.drawNumber(canvas,snap.score,false,getWidth()*.5f,sy);
         }
 
-        if(state==GameState.START){
-            drawOutlinedText(canvas,"Tap to Start",
+        if(state==GameState.START||snap.awaitingTap){
+            glyphs.drawLabel(canvas,GlyphAtlas.LABEL_TAP,
                     getWidth()*.5f,getHeight()*.5f);
         } else if(state==GameState.GAMEOVER){
             canvas.drawColor(0x88000000);
-            canvas.drawBitmap(modalBg,null,modalRect,null);
+            canvas.drawBitmap(modalBgScaled,modalRect.left,modalRect.top,null);
 
             float cx=modalRect.centerX(), ph=modalRect.height(), g=20f;
-            textPaint.setTextSize(48);
-            drawOutlinedText(canvas,"SCORE",cx,modalRect.top+ph*.2f);
-            textPaint.setTextSize(96);
-            drawOutlinedText(canvas,String.valueOf(score),
-                    cx,modalRect.top+ph*.2f+textPaint.getTextSize()+g);
-            textPaint.setTextSize(48);
-            drawOutlinedText(canvas,"BEST",cx,modalRect.top+ph*.45f);
-            textPaint.setTextSize(96);
-            drawOutlinedText(canvas,String.valueOf(bestScore),
-                    cx,modalRect.top+ph*.45f+textPaint.getTextSize()+g);
-
-            canvas.drawBitmap(modalBtn,null,btnRestartRect,null);
-            textPaint.setTextSize(48);
-            drawOutlinedText(canvas,"RESTART",
+            glyphs.drawLabel(canvas,GlyphAtlas.LABEL_SCORE,cx,modalRect.top+ph*.2f);
+            glyphs.drawNumber(canvas,snap.score,true,
+                    cx,modalRect.top+ph*.2f+GlyphAtlas.LARGE+g);
+            glyphs.drawLabel(canvas,GlyphAtlas.LABEL_BEST,cx,modalRect.top+ph*.45f);
+            glyphs.drawNumber(canvas,snap.bestScore,true,
+                    cx,modalRect.top+ph*.45f+GlyphAtlas.LARGE+g);
+
+            canvas.drawBitmap(modalBtnScaled,btnRestartRect.left,btnRestartRect.top,null);
+            glyphs.drawLabel(canvas,GlyphAtlas.LABEL_RESTART,
                     btnRestartRect.centerX(),btnRestartRect.centerY()+16f);
         }
+
+        if(showPerfOverlay){
+            perfOverlay.draw(canvas,0,cutoutTop>0?cutoutTop:statusBarHeight);
+        }
     }
 
-    private void drawOutlinedText(Canvas c,String txt,float cx,float y){
-        float w=textPaint.measureText(txt);
-        textPaint.setStyle(Paint.Style.STROKE);
-        textPaint.setStrokeWidth(8);
-        textPaint.setColor(0xFF000000);
-        c.drawText(txt,cx-w/2f,y,textPaint);
-        textPaint.setStyle(Paint.Style.FILL);
-        textPaint.setColor(0xFFFFFFFF);
-        c.drawText(txt,cx-w/2f,y,textPaint);
+    public FrameStats getFrameStats(){ return frameStats; }
+
+    public void pause(){
+        resumed=false;
+        // returns once the loop is parked, so the snapshot cannot race update();
+        // no loop means nothing is ticking, and none is started just to pause
+        if(thread!=null) thread.setResumed(false);
+        saveWorld();
+        RunHistory h=history;
+        if(h!=null) h.requestFlush();
+        dumpFrameStats();
+        saveLastRun();
     }
 
-    public void pause(){ if(thread!=null) thread.setRunning(false); }
-    public void resume(){
-        if(thread==null||!thread.isRunning()){
-            thread=new GameThread(getHolder(),this);
-            thread.setRunning(true);
-            thread.start();
+    /** Logs the frame timings and writes them next to the app's files for QA. */
+    private void dumpFrameStats(){
+        if(frameStats.getFrames()==0) return;
+        String report=governor.appendLog(new StringBuilder(frameStats.dump())).toString();
+        frameStats.reset();
+        Log.i(TAG,"frame stats\n"+report);
+        File dir=getContext().getExternalFilesDir(null);
+        if(dir==null) return;
+        try(FileWriter w=new FileWriter(new File(dir,"frame_stats.txt"),true)){
+            w.write(new Date()+"\n"+report+"\n");
+        }catch(IOException e){
+            Log.w(TAG,"could not write frame stats",e);
         }
     }
+
+    /**
+     * Writes the last finished run to recordings/ next to frame_stats.txt,
+     * ready to be replayed headless or added to the test corpus.
+     */
+    private void saveLastRun(){
+        Recording run=lastRun;
+        lastRun=null;
+        File dir=getContext().getExternalFilesDir("recordings");
+        if(run==null||dir==null) return;
+        File f=new File(dir,"run-"+System.currentTimeMillis()+".fwr");
+        try(FileOutputStream out=new FileOutputStream(f)){
+            run.write(out);
+            Log.i(TAG,"saved "+run+" to "+f);
+        }catch(IOException e){
+            Log.w(TAG,"could not save recording",e);
+        }
+    }
+
+    public void resume(){
+        resumed=true;
+        // the loop starts with the surface; after detach none is started again
+        if(thread!=null) thread.setResumed(true);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,132 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+import java.util.Arrays;
+
+/**
+ * Every piece of HUD text pre-rendered once, outline included, into a
+ * single bitmap: the digits at the two number sizes and the fixed labels.
+ * Drawing is then a handful of 1:1 blits with no Paint state changes,
+ * text measuring or String building per frame.
+ */
+public class GlyphAtlas {
+    public static final int LABEL_SCORE = 0, LABEL_BEST = 1, LABEL_RESTART = 2, LABEL_TAP = 3;
+    public static final float SMALL = 64f, LARGE = 96f, LABEL = 48f;
+
+    private static final String[] LABELS = { "SCORE", "BEST", "RESTART", "Tap to Start" };
+    private static final float[] LABEL_SIZES = { LABEL, LABEL, LABEL, SMALL };
+    private static final int SMALL_DIGITS = 0, LARGE_DIGITS = 10, LABELS_AT = 20;
+    private static final int GLYPHS = LABELS_AT + LABELS.length;
+    private static final float STROKE = 8f;
+    private static final int PAD = (int) STROKE;
+    private static final int ATLAS_WIDTH = 1024;
+
+    private final Bitmap atlas;
+    private final int[] cellX = new int[GLYPHS], cellY = new int[GLYPHS];
+    private final int[] cellW = new int[GLYPHS], cellH = new int[GLYPHS];
+    private final float[] advance = new float[GLYPHS];
+    private final float[] baseline = new float[GLYPHS];  // from cell top
+
+    // per-draw scratch, reused
+    private final int[] run = new int[HudLayout.MAX_DIGITS];
+    private final float[] runX = new float[HudLayout.MAX_DIGITS];
+
+    public GlyphAtlas(Typeface font) {
+        Paint p = new Paint(Paint.ANTI_ALIAS_FLAG);
+        p.setTypeface(font);
+        p.setStrokeWidth(STROKE);
+
+        // 1) measure every glyph, then shelf-pack them
+        String[] text = new String[GLYPHS];
+        float[] size = new float[GLYPHS];
+        for (int d = 0; d < 10; d++) {
+            text[SMALL_DIGITS + d] = text[LARGE_DIGITS + d] = String.valueOf(d);
+            size[SMALL_DIGITS + d] = SMALL;
+            size[LARGE_DIGITS + d] = LARGE;
+        }
+        for (int i = 0; i < LABELS.length; i++) {
+            text[LABELS_AT + i] = LABELS[i];
+            size[LABELS_AT + i] = LABEL_SIZES[i];
+        }
+        float[] height = new float[GLYPHS];
+        for (int g = 0; g < GLYPHS; g++) {
+            p.setTextSize(size[g]);
+            Paint.FontMetrics fm = p.getFontMetrics();
+            advance[g] = p.measureText(text[g]);
+            height[g] = fm.descent - fm.ascent;
+            baseline[g] = PAD - fm.ascent;
+        }
+        int atlasH = pack(height);
+
+        // 2) render outline then fill, as drawOutlinedText used to
+        atlas = Bitmap.createBitmap(ATLAS_WIDTH, atlasH, Bitmap.Config.ARGB_8888);
+        Canvas c = new Canvas(atlas);
+        for (int g = 0; g < GLYPHS; g++) {
+            p.setTextSize(size[g]);
+            float bx = cellX[g] + PAD, by = cellY[g] + baseline[g];
+            p.setStyle(Paint.Style.STROKE);
+            p.setColor(0xFF000000);
+            c.drawText(text[g], bx, by, p);
+            p.setStyle(Paint.Style.FILL);
+            p.setColor(0xFFFFFFFF);
+            c.drawText(text[g], bx, by, p);
+        }
+    }
+
+    /**
+     * Lays out glyphs of one fixed advance and height without rendering
+     * them, so JVM tests can run the draw path against a counting canvas.
+     */
+    GlyphAtlas(float glyphAdvance, float glyphHeight) {
+        float[] height = new float[GLYPHS];
+        Arrays.fill(advance, glyphAdvance);
+        Arrays.fill(height, glyphHeight);
+        Arrays.fill(baseline, PAD + glyphHeight);
+        pack(height);
+        atlas = null;
+    }
+
+    /** Shelf-packs a cell per glyph, padded for the outline; returns the atlas height. */
+    private int pack(float[] height) {
+        int x = 0, y = 0, rowH = 0;
+        for (int g = 0; g < GLYPHS; g++) {
+            int w = (int) Math.ceil(advance[g]) + 2 * PAD;
+            int h = (int) Math.ceil(height[g]) + 2 * PAD;
+            if (x + w > ATLAS_WIDTH) { x = 0; y += rowH; rowH = 0; }
+            cellX[g] = x;
+            cellY[g] = y;
+            cellW[g] = w;
+            cellH[g] = h;
+            x += w;
+            rowH = Math.max(rowH, h);
+        }
+        return y + rowH;
+    }
+
+    /** Draws one of the LABEL_* strings centred on cx, baseline at y. */
+    public void drawLabel(CountingCanvas c, int label, float cx, float y) {
+        int g = LABELS_AT + label;
+        blit(c, g, cx - advance[g] / 2f, y);
+    }
+
+    /** Draws value centred on cx, baseline at y, at SMALL or LARGE size. */
+    public void drawNumber(CountingCanvas c, int value, boolean large, float cx, float y) {
+        int base = large ? LARGE_DIGITS : SMALL_DIGITS;
+        int n = HudLayout.digits(value, run);
+        for (int i = 0; i < n; i++) run[i] += base;
+        HudLayout.center(run, n, advance, cx, runX);
+        for (int i = 0; i < n; i++) blit(c, run[i], runX[i], y);
+    }
+
+    private void blit(CountingCanvas c, int g, float x, float y) {
+        c.drawRegion(atlas, cellX[g], cellY[g], cellW[g], cellH[g], x - PAD, y - baseline[g]);
+    }
+
+    public void recycle() {
+        atlas.recycle();
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.flappywolf;
+
+/**
+ * Lays out a run of glyphs centred on a point, for {@link GlyphAtlas}.
+ * Works on caller-owned arrays only, so the HUD can be positioned every
+ * frame without allocating.
+ */
+final class HudLayout {
+    /** Enough for any int. */
+    static final int MAX_DIGITS = 10;
+
+    private HudLayout() {}
+
+    /**
+     * Writes the decimal digits of value (most significant first, value
+     * clamped to 0 or more) into out and returns how many there are.
+     */
+    static int digits(int value, int[] out) {
+        if (value <= 0) {
+            out[0] = 0;
+            return 1;
+        }
+        int n = 0;
+        for (int v = value; v > 0; v /= 10) n++;
+        for (int i = n - 1, v = value; i >= 0; i--, v /= 10) out[i] = v % 10;
+        return n;
+    }
+
+    /**
+     * Left edge of each of the n glyphs in glyphs[] when the run is
+     * centred on cx, given every glyph's advance width.
+     */
+    static void center(int[] glyphs, int n, float[] advances, float cx, float[] outX) {
+        float total = 0;
+        for (int i = 0; i < n; i++) total += advances[glyphs[i]];
+        float x = cx - total / 2f;
+        for (int i = 0; i < n; i++) {
+            outX[i] = x;
+            x += advances[glyphs[i]];
+        }
+    }
+}
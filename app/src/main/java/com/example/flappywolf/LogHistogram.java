@@ -0,0 +1,80 @@
+package com.example.flappywolf;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, allocation-free histogram of non-negative longs (here:
+ * nanoseconds). Buckets are powers of two split into 8 linear
+ * sub-buckets, so any reported percentile is within 12.5% of the true
+ * value, from 1 ns up to about 18 minutes. Safe to record from one
+ * thread while others read.
+ */
+public final class LogHistogram {
+    private static final int SUB_BITS = 3;
+    private static final int SUB = 1 << SUB_BITS;
+    private static final int MAGNITUDES = 40;
+    static final int BUCKETS = (MAGNITUDES - SUB_BITS + 1) * SUB + SUB;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    public void record(long value) {
+        if (value < 0) value = 0;
+        counts.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        long m;
+        while (value > (m = max.get()) && !max.compareAndSet(m, value)) {
+            // retry
+        }
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * Upper bound of the bucket holding the q-th quantile (0 &lt; q &lt;= 1),
+     * never more than the largest recorded value; 0 when empty.
+     */
+    public long percentile(double q) {
+        long n = count.get();
+        if (n == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(q * n));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) return Math.min(upperBound(i), max.get());
+        }
+        return max.get();
+    }
+
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) counts.set(i, 0);
+        count.set(0);
+        max.set(0);
+    }
+
+    static int bucketOf(long v) {
+        if (v < SUB) return (int) v;  // small values are exact
+        int mag = 63 - Long.numberOfLeadingZeros(v);
+        int sub = (int) (v >>> (mag - SUB_BITS)) & (SUB - 1);
+        return Math.min((mag - SUB_BITS + 1) * SUB + sub, BUCKETS - 1);
+    }
+
+    static long lowerBound(int bucket) {
+        if (bucket < SUB) return bucket;
+        int mag = bucket / SUB - 1 + SUB_BITS;
+        int sub = bucket % SUB;
+        return (1L << mag) | ((long) sub << (mag - SUB_BITS));
+    }
+
+    static long upperBound(int bucket) {
+        return bucket + 1 < BUCKETS ? lowerBound(bucket + 1) - 1 : Long.MAX_VALUE;
+    }
+}
@@ -0,0 +1,136 @@
+package com.example.flappywolf;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lifecycle of the single long-lived game loop thread. The activity
+ * (resume/pause) and the surface (created/destroyed) each switch one
+ * condition; the loop runs frames only while both hold, and is parked,
+ * using no CPU, the rest of the time. It is unparked the moment the
+ * state changes, so a resume costs no thread start and no stale frame.
+ *
+ * <p>Every call that takes the loop out of {@link State#RUNNING} blocks
+ * until the loop has finished the frame it was in. After
+ * {@code setResumed(false)} returns nothing ticks the world, and after
+ * {@code setSurfaceReady(false)} returns nothing touches the surface.
+ * Only one thread may ever run the loop; a second one is refused.
+ */
+final class LoopLifecycle {
+    enum State {
+        /** The activity is paused, or resumed but has no surface yet. */
+        PAUSED,
+        /** There is a surface, but the activity is paused. */
+        SURFACE_READY,
+        RUNNING,
+        /** Final: the loop returns and its thread ends. */
+        DESTROYED
+    }
+
+    // guarded by this
+    private boolean surface, resumed, destroyed;
+    private Thread loop;
+    private boolean inFrames;   // loop is between awaitRunning() and its next call
+    private int stints;
+    // State.RUNNING, checked by the loop every frame without locking
+    private volatile boolean running;
+    // wakes the loop out of a blocking frame wait when it has to stop
+    private final Runnable interruptFrame;
+
+    LoopLifecycle(Runnable interruptFrame) {
+        this.interruptFrame = interruptFrame;
+    }
+
+    synchronized State getState() {
+        if (destroyed) return State.DESTROYED;
+        if (surface && resumed) return State.RUNNING;
+        return surface ? State.SURFACE_READY : State.PAUSED;
+    }
+
+    /** Times the loop has gone from parked to running frames. */
+    synchronized int getStints() { return stints; }
+
+    void setSurfaceReady(boolean ready) {
+        synchronized (this) {
+            if (destroyed) return;
+            surface = ready;
+        }
+        changed();
+    }
+
+    void setResumed(boolean resumed) {
+        synchronized (this) {
+            if (destroyed) return;
+            this.resumed = resumed;
+        }
+        changed();
+    }
+
+    /** Ends the loop for good; the loop thread returns from {@link #awaitRunning()}. */
+    void destroy() {
+        synchronized (this) {
+            destroyed = true;
+        }
+        changed();
+    }
+
+    private void changed() {
+        boolean stopping;
+        Thread t;
+        synchronized (this) {
+            boolean run = !destroyed && surface && resumed;
+            stopping = running && !run;
+            running = run;
+            t = loop;
+        }
+        if (stopping) interruptFrame.run();
+        if (t != null) LockSupport.unpark(t);
+        synchronized (this) {
+            boolean interrupted = false;
+            // the loop may have been re-entered since; only wait if it should not run
+            while (inFrames && !running) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Loop thread: parks until the state is RUNNING and returns true, or
+     * returns false once destroyed. Also marks the end of the previous
+     * run of frames, releasing whoever is waiting for the loop to stop.
+     */
+    boolean awaitRunning() {
+        synchronized (this) {
+            Thread me = Thread.currentThread();
+            if (loop == null) loop = me;
+            else if (loop != me) throw new IllegalStateException("a loop is already running on " + loop.getName());
+            if (inFrames) {
+                inFrames = false;
+                notifyAll();
+            }
+        }
+        while (true) {
+            synchronized (this) {
+                if (destroyed) {
+                    loop = null;
+                    return false;
+                }
+                if (running) {
+                    inFrames = true;
+                    stints++;
+                    return true;
+                }
+            }
+            LockSupport.park(this);
+        }
+    }
+
+    /** Loop thread, every frame: whether to carry on or go back to {@link #awaitRunning()}. */
+    boolean isRunning() {
+        return running;
+    }
+}
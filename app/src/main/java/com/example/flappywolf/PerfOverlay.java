@@ -0,0 +1,56 @@
+package com.example.flappywolf;
+
+import android.graphics.Paint;
+import android.graphics.Typeface;
+
+/**
+ * Draws {@link FrameStats} in the top-left corner. Text is rebuilt only
+ * every {@link #REFRESH_FRAMES} frames into reused buffers, so drawing
+ * the overlay allocates nothing.
+ */
+public class PerfOverlay {
+    private static final int REFRESH_FRAMES = 30;
+    private static final int LINES = FrameStats.NAMES.length + 1;
+
+    private final FrameStats stats;
+    private final Paint paint = new Paint(Paint.ANTI_ALIAS_FLAG);
+    private final Paint bg = new Paint();
+    private final StringBuilder sb = new StringBuilder(96);
+    private final char[][] text = new char[LINES][96];
+    private final int[] lengths = new int[LINES];
+    private int frame = 0;
+
+    public PerfOverlay(FrameStats stats, float textSize) {
+        this.stats = stats;
+        paint.setTypeface(Typeface.MONOSPACE);
+        paint.setTextSize(textSize);
+        paint.setColor(0xFF00FF00);
+        bg.setColor(0xAA000000);
+    }
+
+    public void draw(CountingCanvas c, float left, float top) {
+        if (frame++ % REFRESH_FRAMES == 0) rebuild();
+        float lh = paint.getTextSize() * 1.2f;
+        c.drawRect(left, top, left + paint.getTextSize() * 30f, top + lh * LINES + lh * 0.4f, bg);
+        for (int i = 0; i < LINES; i++) {
+            c.drawText(text[i], 0, lengths[i], left + 8f, top + lh * (i + 1), paint);
+        }
+    }
+
+    private void rebuild() {
+        sb.setLength(0);
+        sb.append("frames ").append(stats.getFrames()).append(" jank ").append(stats.getJankFrames());
+        copy(0);
+        for (int p = 0; p < FrameStats.NAMES.length; p++) {
+            sb.setLength(0);
+            stats.appendPhase(sb, p);
+            copy(p + 1);
+        }
+    }
+
+    private void copy(int line) {
+        int n = Math.min(sb.length(), text[line].length);
+        sb.getChars(0, n, text[line], 0);
+        lengths[line] = n;
+    }
+}
@@ -1,75 +1,36 @@
 package com.example.flappywolf;
 
 import android.graphics.Bitmap;
-import android.graphics.Canvas;
-import android.graphics.RectF;
 
+/** Queues pipes from render snapshots into a {@link SpriteBatch}; one shared instance per view. */
 public class Pipe {
-    public static Bitmap RAW_HEAD, RAW_HEAD_FLIPPED, RAW_BODY;
-    public static final float SPEED = 8f;
+    public static Bitmap RAW_HEAD, RAW_BODY;
 
-    private float x, top, totalHeight;
-    private final boolean isTop;
-    private boolean scored = false;
-    private final float widthPx, headH;
-    private final RectF bodyDst = new RectF();
-    private final RectF headDst = new RectF();
-
-    public Pipe(float centerY, float widthPx, float gapPx,
-                boolean isTopPipe, float screenH, float screenW) {
-        this.widthPx = widthPx;
-        float aspect = RAW_HEAD.getHeight() / (float)RAW_HEAD.getWidth();
-        headH = widthPx * aspect;
-
-        isTop = isTopPipe;
-        float halfGap = gapPx * 0.5f;
-        if (isTop) {
-            top = 0;
-            totalHeight = centerY - halfGap;
-        } else {
-            top = centerY + halfGap;
-            totalHeight = screenH - top;
-        }
-
-        x = screenW;
-    }
-
-    public void update() {
-        x -= SPEED;
+    /** Height of the head for pipes widthPx wide, keeping the sprite's aspect. */
+    public static int headHeight(int widthPx) {
+        return Math.round(widthPx * RAW_HEAD.getHeight() / (float) RAW_HEAD.getWidth());
     }
 
-    public void draw(Canvas c) {
-        float bodyH = totalHeight - headH;
+    /**
+     * Queues one pipe whose left edge is at x. The atlas body is full
+     * screen height and cropped per pipe, so both quads are unscaled.
+     */
+    public void draw(SpriteBatch b, float x, float top, float totalHeight, boolean isTop) {
+        SpriteAtlas a = b.getAtlas();
+        int headH = a.height(SpriteAtlas.HEAD);
+        int bodyH = Math.max(0, Math.min(a.height(SpriteAtlas.BODY), Math.round(totalHeight) - headH));
+        int left = a.left(SpriteAtlas.BODY), right = a.right(SpriteAtlas.BODY);
+        float w = right - left;
 
         if (isTop) {
-            bodyDst.set(x, 0, x + widthPx, bodyH);
-            headDst.set(x, bodyH, x + widthPx, bodyH + headH);
+            // crop from the bottom so the texture meets the head the same way
+            int bottom = a.bottom(SpriteAtlas.BODY);
+            b.add(left, bottom - bodyH, right, bottom, x, 0, x + w, bodyH);
+            b.add(SpriteAtlas.HEAD_FLIPPED, x, bodyH);
         } else {
-            headDst.set(x, top, x + widthPx, top + headH);
-            bodyDst.set(x, top + headH, x + widthPx, top + totalHeight);
+            int srcTop = a.top(SpriteAtlas.BODY);
+            b.add(left, srcTop, right, srcTop + bodyH, x, top + headH, x + w, top + headH + bodyH);
+            b.add(SpriteAtlas.HEAD, x, top);
         }
-
-        c.drawBitmap(RAW_BODY, null, bodyDst, null);
-        c.drawBitmap(isTop ? RAW_HEAD_FLIPPED : RAW_HEAD, null, headDst, null);
-    }
-
-    public float getX()         { return x; }
-    public float getWidth()     { return widthPx; }
-    public boolean isTop()      { return isTop; }
-    public boolean isScored()   { return scored; }
-    public void setScored(boolean s) { scored = s; }
-
-    public boolean collidesWith(Bird b) {
-        float cx = b.getX() + b.getWidth()*0.5f;
-        float cy = b.getY() + b.getHeight()*0.5f;
-        float r  = b.getWidth()*0.5f*0.6f;
-
-        float left = x, right = x + widthPx;
-        float topE = isTop?0:top, botE = isTop?totalHeight:(top+totalHeight);
-
-        float nx = Math.max(left,   Math.min(cx, right));
-        float ny = Math.max(topE,   Math.min(cy,   botE));
-        float dx = cx - nx, dy = cy - ny;
-        return dx*dx + dy*dy < r*r;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,141 @@
+package com.example.flappywolf;
+
+/**
+ * Trades visual quality for frame time. Fed the work time of every drawn
+ * frame (update to post, not the wait for vsync), it keeps a rolling
+ * window of them and moves between {@link #LEVELS} quality levels, each
+ * one dropping one more feature:
+ *
+ * <ol start="0">
+ *   <li>everything on, sprites and background filtered</li>
+ *   <li>no sprite or background filtering</li>
+ *   <li>coins stop spinning</li>
+ *   <li>plain sky instead of the background bitmap</li>
+ *   <li>render target one step coarser</li>
+ *   <li>every other frame drawn, i.e. 30 fps on a 60 Hz display</li>
+ * </ol>
+ *
+ * <p>It steps down once more than 1/8 of a full window misses the frame
+ * budget, and back up only after {@link #UP_FRAMES} consecutive frames
+ * that would fit the level above with plenty to spare. After any change
+ * the window starts over. A step up that is undone within two windows
+ * doubles how long the next one has to wait, so a device on the edge of
+ * two levels settles instead of flickering between them.
+ *
+ * <p>Pure logic with no Android dependencies; GameView applies the level.
+ */
+public class QualityGovernor {
+    public static final int LEVELS = 6;
+    static final int WINDOW = 60;
+    static final int UP_FRAMES = 2 * WINDOW;
+    private static final int MAX_UP_FRAMES = 64 * UP_FRAMES;
+    // frames must fit in this share of the budget to step up
+    private static final float UP_HEADROOM = 0.6f;
+    private static final int LOG = 32;
+    private static final String[] NAMES = {
+            "full", "unfiltered", "static coins", "plain background", "coarse", "half rate"
+    };
+
+    private final long[] window = new long[WINDOW];
+    private int filled, next;
+    private volatile int level;
+    private long frames;
+    private int quickFrames;
+    private int upAfter = UP_FRAMES;
+    private long lastUpFrame = -1;
+
+    // transition log, a ring of the last LOG changes
+    private final long[] logFrame = new long[LOG];
+    private final byte[] logFrom = new byte[LOG], logTo = new byte[LOG];
+    private final short[] logSlow = new short[LOG];
+    private int transitions;
+
+    public QualityGovernor() {
+        this(0);
+    }
+
+    public QualityGovernor(int startLevel) {
+        level = Math.max(0, Math.min(LEVELS - 1, startLevel));
+    }
+
+    /**
+     * One drawn frame took workNs on a display refreshing every
+     * intervalNs; returns true if that changed the level.
+     */
+    public boolean frame(long workNs, long intervalNs) {
+        frames++;
+        window[next] = workNs;
+        next = (next + 1) % WINDOW;
+        if (filled < WINDOW) filled++;
+
+        int lvl = level;
+        if (lvl > 0 && workNs < UP_HEADROOM * budget(lvl - 1, intervalNs)) {
+            if (++quickFrames >= upAfter) {
+                lastUpFrame = frames;
+                change(lvl, lvl - 1, 0);
+                return true;
+            }
+        } else {
+            quickFrames = 0;
+        }
+
+        if (filled < WINDOW || lvl == LEVELS - 1) return false;
+        long budget = budget(lvl, intervalNs);
+        int slow = 0;
+        for (long ns : window) if (ns > budget) slow++;
+        if (slow * 8 <= WINDOW) return false;
+        // undoing a recent step up: wait longer before the next one
+        if (lastUpFrame >= 0 && frames - lastUpFrame <= 2 * WINDOW) {
+            upAfter = Math.min(MAX_UP_FRAMES, upAfter * 2);
+        }
+        change(lvl, lvl + 1, slow);
+        return true;
+    }
+
+    private static long budget(int level, long intervalNs) {
+        return halfRate(level) ? intervalNs * 2 : intervalNs;
+    }
+
+    private void change(int from, int to, int slow) {
+        int i = transitions++ % LOG;
+        logFrame[i] = frames;
+        logFrom[i] = (byte) from;
+        logTo[i] = (byte) to;
+        logSlow[i] = (short) slow;
+        level = to;
+        restartWindow();
+    }
+
+    /** Forgets the window, e.g. after the loop sat idle. */
+    public void restartWindow() {
+        filled = next = 0;
+        quickFrames = 0;
+    }
+
+    public int getLevel()          { return level; }
+    public int getTransitions()    { return transitions; }
+    /** Quick frames a step up currently needs. */
+    public int getUpAfter()        { return upAfter; }
+
+    public static boolean filtersBitmaps(int level)     { return level < 1; }
+    public static boolean animatesCoins(int level)      { return level < 2; }
+    public static boolean detailedBackground(int level) { return level < 3; }
+    /** Added to the render scale the device would otherwise use. */
+    public static int extraScale(int level)             { return level < 4 ? 0 : 1; }
+    public static boolean halfRate(int level)           { return level >= 5; }
+
+    /** Appends the current level and the logged transitions, oldest first. */
+    public StringBuilder appendLog(StringBuilder sb) {
+        int lvl = level;
+        sb.append("quality ").append(lvl).append(' ').append(NAMES[lvl])
+                .append(" after ").append(transitions).append(" changes\n");
+        for (int k = Math.max(0, transitions - LOG); k < transitions; k++) {
+            int i = k % LOG;
+            sb.append("  frame ").append(logFrame[i]).append(": ")
+                    .append(logFrom[i]).append(" -> ").append(logTo[i]);
+            if (logTo[i] > logFrom[i]) sb.append(" (").append(logSlow[i]).append('/').append(WINDOW).append(" slow)");
+            sb.append('\n');
+        }
+        return sb;
+    }
+}
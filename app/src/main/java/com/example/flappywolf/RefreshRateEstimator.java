@@ -0,0 +1,57 @@
+package com.example.flappywolf;
+
+/**
+ * Tracks the display's vsync interval from successive vsync timestamps.
+ * Intervals close to the current estimate refine it; a run of intervals
+ * that consistently disagree (e.g. the panel switched from 60 to 120 Hz,
+ * or back) replaces it. Isolated long gaps from dropped frames are
+ * ignored.
+ */
+public class RefreshRateEstimator {
+    /** Consecutive agreeing samples needed to accept a new rate. */
+    static final int SWITCH_AFTER = 8;
+
+    private long intervalNs;
+    private long lastVsyncNs = -1;
+    private long candidateNs;
+    private int candidateCount;
+
+    public RefreshRateEstimator(float initialHz) {
+        intervalNs = (long) (1_000_000_000L / initialHz);
+    }
+
+    public void onVsync(long timestampNs) {
+        if (lastVsyncNs >= 0) {
+            long d = timestampNs - lastVsyncNs;
+            if (near(d, intervalNs)) {
+                intervalNs += (d - intervalNs) / 8;
+                candidateCount = 0;
+            } else if (d > 0) {
+                if (candidateCount > 0 && near(d, candidateNs)) {
+                    candidateNs += (d - candidateNs) / 2;
+                    if (++candidateCount >= SWITCH_AFTER) {
+                        intervalNs = candidateNs;
+                        candidateCount = 0;
+                    }
+                } else {
+                    candidateNs = d;
+                    candidateCount = 1;
+                }
+            }
+        }
+        lastVsyncNs = timestampNs;
+    }
+
+    /** Within 20% of the reference interval. */
+    private static boolean near(long d, long ref) {
+        return Math.abs(d - ref) * 5 < ref;
+    }
+
+    public long getIntervalNs() {
+        return intervalNs;
+    }
+
+    public float getRefreshRateHz() {
+        return 1_000_000_000f / intervalNs;
+    }
+}
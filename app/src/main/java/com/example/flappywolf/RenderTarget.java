@@ -0,0 +1,104 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Rect;
+
+/**
+ * Optional low-resolution offscreen target. At scale s the frame is drawn
+ * into a bitmap 1/s the size of the surface and blown up once with
+ * nearest-neighbour sampling, so every sprite, including the full-screen
+ * background, fills s*s times fewer pixels. Drawing code keeps working in
+ * surface coordinates; the offscreen canvas scales them down. Scale 1
+ * draws straight to the surface.
+ *
+ * <p>Each target pixel covers an s x s block of the screen, and shows
+ * whatever was drawn at that block's centre. {@link #mapX}/{@link #mapY}
+ * move a touch to that same centre, so hit tests agree with what is on
+ * screen, e.g. a tap on a visible edge of the RESTART button.
+ */
+public class RenderTarget {
+    public static final int MAX_SCALE = 4;
+
+    // written on the game thread, read by touch mapping on the UI thread
+    private volatile int scale = 1;
+    private int width, height;
+    // what the target covers on the surface; dst is only built in end(),
+    // so configure() and the touch mapping need no android.graphics calls
+    private int coverW, coverH;
+    private Bitmap bitmap;
+    private Canvas canvas;
+    private Paint blit;
+    private Rect dst;
+
+    /** Scale for a surface that size: about 720 px on its short side. */
+    public static int autoScale(int surfaceW, int surfaceH) {
+        return clamp(Math.min(surfaceW, surfaceH) / 720);
+    }
+
+    private static int clamp(int s) {
+        return Math.max(1, Math.min(MAX_SCALE, s));
+    }
+
+    /** Sizes the target for drawing a surfaceW x surfaceH surface at 1/scale. */
+    public void configure(int scale, int surfaceW, int surfaceH) {
+        scale = clamp(scale);
+        // round up, the last row and column may hang off the surface
+        int w = (surfaceW + scale - 1) / scale, h = (surfaceH + scale - 1) / scale;
+        if (scale == this.scale && w == width && h == height) return;
+        this.scale = scale;
+        width = w;
+        height = h;
+        coverW = w * scale;
+        coverH = h * scale;
+        canvas = null;  // reallocated on the next begin()
+    }
+
+    public int getScale()  { return scale; }
+    public int getWidth()  { return width; }
+    public int getHeight() { return height; }
+
+    /** Screen x moved to the centre of the target pixel that shows it. */
+    public float mapX(float x) {
+        int s = scale;
+        return s == 1 ? x : ((int) Math.floor(x / s) + 0.5f) * s;
+    }
+
+    /** Screen y moved to the centre of the target pixel that shows it. */
+    public float mapY(float y) {
+        return mapX(y);
+    }
+
+    /** Canvas to draw this frame into: the surface itself at scale 1. */
+    public Canvas begin(Canvas surface) {
+        if (scale == 1) return surface;
+        if (canvas == null) {
+            if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+                if (bitmap != null) bitmap.recycle();
+                bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+            }
+            canvas = new Canvas(bitmap);
+            canvas.scale(1f / scale, 1f / scale);
+            // default paint flags: no filtering, i.e. nearest neighbour,
+            // whatever quality level the sprites are drawn at
+            if (blit == null) blit = new Paint();
+        }
+        return canvas;
+    }
+
+    /** Upscales the finished frame onto the surface; true if that took a draw call. */
+    public boolean end(Canvas surface) {
+        if (scale == 1) return false;
+        if (dst == null) dst = new Rect();
+        dst.set(0, 0, coverW, coverH);
+        surface.drawBitmap(bitmap, null, dst, blit);
+        return true;
+    }
+
+    public void release() {
+        if (bitmap != null) bitmap.recycle();
+        bitmap = null;
+        canvas = null;
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.flappywolf;
+
+import com.example.flappywolf.engine.GameState;
+
+/**
+ * When the run in progress started, for its entry in the run history.
+ * A restored run's earlier part is unknown, so it is timed from the
+ * moment it was restored (or resumed); a run with no known start is not
+ * timed at all. Game thread only.
+ */
+final class RunTiming {
+    private long startNs, startTick;
+    private boolean known;
+
+    /** The run left the START screen, or a restored one was resumed. */
+    void started(long ns, long tick) {
+        startNs = ns;
+        startTick = tick;
+        known = true;
+    }
+
+    /** A run was restored in state; only one still in progress can end and be timed. */
+    void restored(GameState state, long ns, long tick) {
+        if (state == GameState.PLAYING || state == GameState.FALLING) started(ns, tick);
+        else known = false;
+    }
+
+    /** The run ended; the next one has no start until {@link #started}. */
+    void finished() {
+        known = false;
+    }
+
+    boolean isKnown() { return known; }
+
+    int durationMs(long endNs) {
+        return clamp((endNs - startNs) / 1_000_000L);
+    }
+
+    int ticks(long endTick) {
+        return clamp(endTick - startTick);
+    }
+
+    private static int clamp(long v) {
+        return (int) Math.max(0, Math.min(Integer.MAX_VALUE, v));
+    }
+}
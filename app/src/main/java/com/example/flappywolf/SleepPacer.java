@@ -0,0 +1,44 @@
+package com.example.flappywolf;
+
+/**
+ * Fallback pacer: sleeps until a fixed cadence, independent of the
+ * display's vsync. Resynchronises instead of bursting when it falls more
+ * than a frame behind.
+ */
+public class SleepPacer implements FramePacer {
+    private final FrameClock clock;
+    private final long intervalNs;
+    private long next;
+
+    public SleepPacer(FrameClock clock, long intervalNs) {
+        this.clock = clock;
+        this.intervalNs = intervalNs;
+    }
+
+    @Override public void start() {
+        next = clock.nanoTime();
+    }
+
+    @Override public long awaitFrame() throws InterruptedException {
+        long now = clock.nanoTime();
+        if (next > now) {
+            clock.sleepNanos(next - now);
+            now = clock.nanoTime();
+        } else if (now - next > intervalNs) {
+            next = now;
+        }
+        next += intervalNs;
+        return now;
+    }
+
+    @Override public long getFrameIntervalNs() {
+        return intervalNs;
+    }
+
+    @Override public void setIdle(boolean idle) {
+        // coming back from idle: start a fresh cadence, not a catch-up
+        if (!idle) next = clock.nanoTime();
+    }
+
+    @Override public void stop() {}
+}
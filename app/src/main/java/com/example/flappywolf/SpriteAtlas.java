@@ -0,0 +1,156 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Path;
+import android.graphics.RectF;
+
+/**
+ * Pipe head, flipped head, pipe body and both coin faces, each scaled to
+ * its on-screen size, packed into one bitmap so every pipe and coin of a
+ * frame can be drawn by a single {@link SpriteBatch}. The body sits on
+ * the left at full screen height and is cropped per pipe; the heads,
+ * coin faces and the two particle sprites are stacked to its right. The
+ * particles have no art of their own and are painted procedurally.
+ *
+ * <p>{@link #layout} is plain arithmetic; {@link #render} then paints the
+ * sprites in, and only when the layout changed. Rendering recycles or
+ * clears the bitmap in place, so it belongs on the thread that draws
+ * with the atlas.
+ */
+public class SpriteAtlas {
+    public static final int HEAD = 0, HEAD_FLIPPED = 1, BODY = 2, COIN_FRONT = 3, COIN_SIDE = 4,
+            SPARKLE = 5, FEATHER = 6;
+    static final int REGIONS = 7;
+    // empty pixels around every region so neighbours never bleed in
+    private static final int PAD = 2;
+
+    private final int[] rects = new int[REGIONS * 4];  // left, top, right, bottom
+    private int width, height;
+    private int pipeW = -1, headH, bodyH, coinSize;
+    private Bitmap bitmap;
+    private boolean rendered;
+
+    /** Places the regions for the given sprite sizes; free if they did not change. */
+    public void layout(int pipeW, int headH, int bodyH, int coinSize) {
+        pipeW = Math.max(1, pipeW);
+        headH = Math.max(1, headH);
+        bodyH = Math.max(1, bodyH);
+        coinSize = Math.max(1, coinSize);
+        if (pipeW == this.pipeW && headH == this.headH
+                && bodyH == this.bodyH && coinSize == this.coinSize) return;
+        this.pipeW = pipeW;
+        this.headH = headH;
+        this.bodyH = bodyH;
+        this.coinSize = coinSize;
+        rendered = false;
+
+        int col = PAD + pipeW + PAD;
+        int coinTop = PAD + 2 * (headH + PAD);
+        set(BODY, PAD, PAD, pipeW, bodyH);
+        set(HEAD, col, PAD, pipeW, headH);
+        set(HEAD_FLIPPED, col, PAD + headH + PAD, pipeW, headH);
+        set(COIN_FRONT, col, coinTop, coinSize, coinSize);
+        set(COIN_SIDE, col + coinSize + PAD, coinTop, coinSize, coinSize);
+        int sparkle = Math.max(4, coinSize / 4), feather = Math.max(4, coinSize / 3);
+        int particleTop = coinTop + coinSize + PAD;
+        set(SPARKLE, col, particleTop, sparkle, sparkle);
+        set(FEATHER, col + sparkle + PAD, particleTop, feather, feather);
+        width = col + Math.max(Math.max(pipeW, 2 * coinSize + PAD), sparkle + feather + PAD) + PAD;
+        height = Math.max(PAD + bodyH, particleTop + Math.max(sparkle, feather)) + PAD;
+    }
+
+    private void set(int region, int left, int top, int w, int h) {
+        int i = region * 4;
+        rects[i] = left;
+        rects[i + 1] = top;
+        rects[i + 2] = left + w;
+        rects[i + 3] = top + h;
+    }
+
+    /** Scales the raw sprites into the atlas, unless already done for this layout. */
+    public void render(Bitmap rawHead, Bitmap rawBody, Bitmap rawFront, Bitmap rawSide) {
+        if (rendered) return;
+        if (bitmap == null || bitmap.getWidth() != width || bitmap.getHeight() != height) {
+            if (bitmap != null) bitmap.recycle();
+            bitmap = Bitmap.createBitmap(width, height, Bitmap.Config.ARGB_8888);
+        } else {
+            bitmap.eraseColor(0);
+        }
+        Canvas c = new Canvas(bitmap);
+        Paint p = new Paint(Paint.FILTER_BITMAP_FLAG);
+        RectF dst = new RectF();
+        blit(c, p, dst, rawHead, HEAD);
+        blit(c, p, dst, rawBody, BODY);
+        blit(c, p, dst, rawFront, COIN_FRONT);
+        blit(c, p, dst, rawSide, COIN_SIDE);
+        // upside down about the region's own centre
+        int i = HEAD_FLIPPED * 4;
+        c.save();
+        c.scale(1f, -1f, 0f, (rects[i + 1] + rects[i + 3]) * 0.5f);
+        blit(c, p, dst, rawHead, HEAD_FLIPPED);
+        c.restore();
+        paintParticles(c);
+        rendered = true;
+    }
+
+    private void paintParticles(Canvas c) {
+        Paint p = new Paint(Paint.ANTI_ALIAS_FLAG);
+        // sparkle: a four-pointed star, white core on gold
+        int i = SPARKLE * 4;
+        float cx = (rects[i] + rects[i + 2]) * 0.5f, cy = (rects[i + 1] + rects[i + 3]) * 0.5f;
+        float r = (rects[i + 2] - rects[i]) * 0.5f, w = r * 0.3f;
+        Path star = new Path();
+        star.moveTo(cx, cy - r);
+        star.lineTo(cx + w, cy - w);
+        star.lineTo(cx + r, cy);
+        star.lineTo(cx + w, cy + w);
+        star.lineTo(cx, cy + r);
+        star.lineTo(cx - w, cy + w);
+        star.lineTo(cx - r, cy);
+        star.lineTo(cx - w, cy - w);
+        star.close();
+        p.setColor(0xFFFFD54F);
+        c.drawPath(star, p);
+        p.setColor(0xFFFFFFFF);
+        c.drawCircle(cx, cy, w, p);
+        // feather: a slanted white oval with a grey quill
+        i = FEATHER * 4;
+        cx = (rects[i] + rects[i + 2]) * 0.5f;
+        cy = (rects[i + 1] + rects[i + 3]) * 0.5f;
+        r = (rects[i + 2] - rects[i]) * 0.5f;
+        c.save();
+        c.rotate(-35f, cx, cy);
+        p.setColor(0xFFF5F5F5);
+        c.drawOval(new RectF(cx - r, cy - r * 0.4f, cx + r, cy + r * 0.4f), p);
+        p.setColor(0xFF9E9E9E);
+        p.setStrokeWidth(Math.max(1f, r * 0.1f));
+        c.drawLine(cx - r, cy, cx + r, cy, p);
+        c.restore();
+    }
+
+    private void blit(Canvas c, Paint p, RectF dst, Bitmap raw, int region) {
+        int i = region * 4;
+        dst.set(rects[i], rects[i + 1], rects[i + 2], rects[i + 3]);
+        c.drawBitmap(raw, null, dst, p);
+    }
+
+    public int left(int region)   { return rects[region * 4]; }
+    public int top(int region)    { return rects[region * 4 + 1]; }
+    public int right(int region)  { return rects[region * 4 + 2]; }
+    public int bottom(int region) { return rects[region * 4 + 3]; }
+    public int width(int region)  { return right(region) - left(region); }
+    public int height(int region) { return bottom(region) - top(region); }
+
+    public int getWidth()     { return width; }
+    public int getHeight()    { return height; }
+    public Bitmap getBitmap() { return bitmap; }
+
+    public void recycle() {
+        if (bitmap != null) bitmap.recycle();
+        bitmap = null;
+        pipeW = -1;
+        rendered = false;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.flappywolf;
+
+import android.graphics.BitmapShader;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Shader;
+
+/**
+ * Collects quads cut from one {@link SpriteAtlas} and draws them all with
+ * a single {@code drawVertices} call, instead of one drawBitmap per
+ * sprite. Vertex, texture and index arrays are allocated once for up to
+ * maxQuads quads; a frame with more than that flushes early.
+ */
+public class SpriteBatch {
+    private final int maxQuads;
+    private final float[] verts, texs;
+    private final short[] indices;
+    private int quads;
+    private CountingCanvas target;
+    private SpriteAtlas atlas;
+    private Paint paint;
+    private boolean filter;
+
+    public SpriteBatch(int maxQuads) {
+        // indices are shorts: 4 vertices per quad must stay addressable
+        if (maxQuads < 1 || maxQuads * 4 > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("maxQuads " + maxQuads);
+        }
+        this.maxQuads = maxQuads;
+        verts = new float[maxQuads * 8];
+        texs = new float[maxQuads * 8];
+        indices = new short[maxQuads * 6];
+        // corners go top-left, top-right, bottom-left, bottom-right
+        for (int q = 0, v = 0; q < maxQuads; q++, v += 4) {
+            int i = q * 6;
+            indices[i]     = (short) v;
+            indices[i + 1] = (short) (v + 1);
+            indices[i + 2] = (short) (v + 2);
+            indices[i + 3] = (short) (v + 2);
+            indices[i + 4] = (short) (v + 1);
+            indices[i + 5] = (short) (v + 3);
+        }
+    }
+
+    /** Regions to cut sprites from; quads only need the layout. */
+    public void setAtlas(SpriteAtlas atlas) {
+        this.atlas = atlas;
+    }
+
+    public SpriteAtlas getAtlas() { return atlas; }
+
+    /** Points the shader at the atlas bitmap; call again once it was re-rendered. */
+    public void bindBitmap() {
+        if (paint == null) paint = new Paint();
+        paint.setFilterBitmap(filter);
+        paint.setShader(new BitmapShader(atlas.getBitmap(),
+                Shader.TileMode.CLAMP, Shader.TileMode.CLAMP));
+    }
+
+    /** Bilinear filtering for scaled quads, off (nearest) by default. */
+    public void setFilter(boolean filter) {
+        this.filter = filter;
+        if (paint != null) paint.setFilterBitmap(filter);
+    }
+
+    /** Starts collecting quads for c. */
+    public void begin(CountingCanvas c) {
+        target = c;
+        quads = 0;
+    }
+
+    /**
+     * Adds atlas pixels [srcLeft, srcRight) x [srcTop, srcBottom) drawn
+     * into the screen rectangle dst, unscaled when the sizes match.
+     */
+    public void add(float srcLeft, float srcTop, float srcRight, float srcBottom,
+                    float dstLeft, float dstTop, float dstRight, float dstBottom) {
+        if (quads == maxQuads) flush();
+        int i = quads++ * 8;
+        put(verts, i, dstLeft, dstTop, dstRight, dstBottom);
+        put(texs, i, srcLeft, srcTop, srcRight, srcBottom);
+    }
+
+    /** Adds a whole region with its top-left corner at x, y. */
+    public void add(int region, float x, float y) {
+        SpriteAtlas a = atlas;
+        add(a.left(region), a.top(region), a.right(region), a.bottom(region),
+                x, y, x + a.width(region), y + a.height(region));
+    }
+
+    /** Adds a whole region scaled by scale about its centre, which lands on cx, cy. */
+    public void addCentered(int region, float cx, float cy, float scale) {
+        SpriteAtlas a = atlas;
+        float hw = a.width(region) * 0.5f * scale, hh = a.height(region) * 0.5f * scale;
+        add(a.left(region), a.top(region), a.right(region), a.bottom(region),
+                cx - hw, cy - hh, cx + hw, cy + hh);
+    }
+
+    private static void put(float[] a, int i, float l, float t, float r, float b) {
+        a[i]     = l; a[i + 1] = t;
+        a[i + 2] = r; a[i + 3] = t;
+        a[i + 4] = l; a[i + 5] = b;
+        a[i + 6] = r; a[i + 7] = b;
+    }
+
+    /** Draws whatever is still queued; the batch is empty afterwards. */
+    public void end() {
+        flush();
+        target = null;
+    }
+
+    private void flush() {
+        if (quads == 0) return;
+        target.drawVertices(Canvas.VertexMode.TRIANGLES, quads * 8, verts, texs,
+                indices, quads * 6, paint);
+        quads = 0;
+    }
+
+    /** Quads queued since the last flush. */
+    int size() { return quads; }
+    float[] vertices() { return verts; }
+    float[] texCoords() { return texs; }
+}
@@ -0,0 +1,49 @@
+package com.example.flappywolf;
+
+import android.graphics.Bitmap;
+import android.graphics.Matrix;
+import android.util.SparseArray;
+
+/**
+ * Holds each sprite pre-scaled to its final on-screen size so the render
+ * loop only does 1:1 blits. Entries are keyed by resource id (plus a
+ * vertical-flip flag) and remember the size they were scaled to; asking
+ * for the same size again is free, asking for a new one rescales once
+ * and recycles the old copy. Because of that recycle, call it only on
+ * the thread that draws the bitmaps it returns.
+ */
+public class SpriteCache {
+    private static class Entry {
+        final int width, height;
+        final Bitmap bitmap;
+        Entry(int w, int h, Bitmap b) { width = w; height = h; bitmap = b; }
+    }
+
+    private final SparseArray<Entry> entries = new SparseArray<>();
+
+    /** {@code raw} scaled to w x h, flipped vertically if asked to. */
+    public Bitmap get(int resId, boolean flipY, Bitmap raw, int w, int h) {
+        w = Math.max(1, w);
+        h = Math.max(1, h);
+        int key = resId * 2 + (flipY ? 1 : 0);
+        Entry e = entries.get(key);
+        if (e != null && e.width == w && e.height == h) return e.bitmap;
+
+        Matrix m = new Matrix();
+        m.setScale(w / (float) raw.getWidth(), (flipY ? -h : h) / (float) raw.getHeight());
+        Bitmap scaled = Bitmap.createBitmap(raw, 0, 0, raw.getWidth(), raw.getHeight(), m, true);
+        if (e != null && e.bitmap != scaled) e.bitmap.recycle();
+        entries.put(key, new Entry(w, h, scaled));
+        return scaled;
+    }
+
+    public Bitmap get(int resId, Bitmap raw, int w, int h) {
+        return get(resId, false, raw, w, h);
+    }
+
+    /** Recycles every cached bitmap. */
+    public void clear() {
+        for (int i = 0; i < entries.size(); i++) entries.valueAt(i).bitmap.recycle();
+        entries.clear();
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.flappywolf;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.view.Choreographer;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Paces the game loop on the display's vsync. A small looper thread
+ * receives Choreographer frame callbacks and wakes the game thread with
+ * each frame's timestamp; the refresh rate is tracked from those
+ * timestamps so 90/120 Hz panels and runtime mode switches are followed.
+ */
+public class VsyncPacer implements FramePacer, Choreographer.FrameCallback {
+    // if vsync stops (screen off, surface gone) don't wait forever
+    private static final long MAX_WAIT_NS = 100_000_000L;
+
+    private final RefreshRateEstimator estimator;
+    private HandlerThread looper;
+    private Handler handler;
+    private volatile boolean active;
+    // while idle no frame callback is reposted, so the looper sleeps too
+    private volatile boolean idle;
+    private boolean callbackPosted;  // looper thread only
+    private volatile Thread waiter;
+    private volatile long lastVsyncNs;
+    private volatile long intervalNs;  // estimator's value, published for the game thread
+    private volatile int vsyncSeq;
+    private int consumedSeq;
+
+    public VsyncPacer(float displayHz) {
+        estimator = new RefreshRateEstimator(displayHz);
+        intervalNs = estimator.getIntervalNs();
+    }
+
+    @Override public void start() {
+        active = true;
+        looper = new HandlerThread("vsync");
+        looper.start();
+        handler = new Handler(looper.getLooper());
+        handler.post(this::postCallback);
+    }
+
+    private void postCallback() {
+        if (callbackPosted || !active) return;
+        callbackPosted = true;
+        Choreographer.getInstance().postFrameCallback(this);
+    }
+
+    @Override public void doFrame(long frameTimeNanos) {
+        callbackPosted = false;
+        estimator.onVsync(frameTimeNanos);
+        intervalNs = estimator.getIntervalNs();
+        lastVsyncNs = frameTimeNanos;
+        vsyncSeq++;  // only written on the looper thread
+        Thread t = waiter;
+        if (t != null) LockSupport.unpark(t);
+        if (!idle) postCallback();
+    }
+
+    @Override public long awaitFrame() throws InterruptedException {
+        waiter = Thread.currentThread();
+        long deadline = System.nanoTime() + MAX_WAIT_NS;
+        while (vsyncSeq == consumedSeq && active) {
+            long left = deadline - System.nanoTime();
+            if (left <= 0) return System.nanoTime();
+            LockSupport.parkNanos(this, left);
+            if (Thread.interrupted()) throw new InterruptedException();
+        }
+        consumedSeq = vsyncSeq;
+        return lastVsyncNs;
+    }
+
+    @Override public long getFrameIntervalNs() {
+        return intervalNs;
+    }
+
+    @Override public void setIdle(boolean idle) {
+        this.idle = idle;
+        if (idle) return;
+        consumedSeq = vsyncSeq;  // anything that arrived while idle is stale
+        if (handler != null) handler.post(this::postCallback);
+    }
+
+    @Override public void stop() {
+        active = false;
+        if (looper != null) looper.quitSafely();
+        Thread t = waiter;
+        if (t != null) LockSupport.unpark(t);
+    }
+}
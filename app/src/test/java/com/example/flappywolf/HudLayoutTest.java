@@ -0,0 +1,103 @@
+package com.example.flappywolf;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.LongSupplier;
+
+import static org.junit.Assert.*;
+
+public class HudLayoutTest {
+    private final int[] run = new int[HudLayout.MAX_DIGITS];
+    private final float[] runX = new float[HudLayout.MAX_DIGITS];
+    private final float[] advances = { 64, 64, 64, 64, 64, 64, 64, 64, 64, 64 };
+
+    @Test
+    public void digits_mostSignificantFirst() {
+        assertEquals(1, HudLayout.digits(0, run));
+        assertEquals(0, run[0]);
+        assertEquals(3, HudLayout.digits(407, run));
+        assertArrayEquals(new int[] { 4, 0, 7 }, java.util.Arrays.copyOf(run, 3));
+        assertEquals(10, HudLayout.digits(Integer.MAX_VALUE, run));
+        assertEquals(1, HudLayout.digits(-5, run));
+    }
+
+    @Test
+    public void center_splitsWidthAroundCx() {
+        int n = HudLayout.digits(12, run);
+        HudLayout.center(run, n, advances, 500f, runX);
+        assertEquals(436f, runX[0], 0f);
+        assertEquals(500f, runX[1], 0f);
+    }
+
+    @Test
+    public void numberLayout_allocatesNothing() {
+        assertEquals("bytes allocated across 100k frames", 0, steadyAllocation(() -> layoutFrames(100_000)));
+    }
+
+    @Test
+    public void hudDraw_allocatesNothing() {
+        GlyphAtlas glyphs = new GlyphAtlas(64f, 80f);
+        CountingCanvas canvas = new CountingCanvas();
+        assertEquals("bytes allocated across 100k frames", 0,
+                steadyAllocation(() -> drawFrames(glyphs, canvas, 100_000)));
+        // game over: score, best and restart labels plus two numbers
+        canvas.wrap(null);
+        glyphs.drawNumber(canvas, 42, false, 540f, 200f);
+        drawModal(glyphs, canvas, 42, 407);
+        assertEquals(2 + 2 + 3 + 3, canvas.getDrawCalls());
+    }
+
+    /**
+     * Bytes the frames allocate once warm. JIT compilation can allocate
+     * during the first rounds, so this is the quietest of several rounds.
+     */
+    private static long steadyAllocation(LongSupplier frames) {
+        com.sun.management.ThreadMXBean mx =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long tid = Thread.currentThread().getId();
+        long allocated = Long.MAX_VALUE;
+        long sink = 0;
+        for (int round = 0; round < 10 && allocated > 0; round++) {
+            long before = mx.getThreadAllocatedBytes(tid);
+            sink += frames.getAsLong();
+            allocated = Math.min(allocated, mx.getThreadAllocatedBytes(tid) - before);
+        }
+        assertTrue(sink != 0);
+        return allocated;
+    }
+
+    /** What one frame of HUD does: the score and, on game over, the best. */
+    private long layoutFrames(int frames) {
+        float sink = 0;
+        for (int f = 0; f < frames; f++) {
+            int n = HudLayout.digits(f, run);
+            HudLayout.center(run, n, advances, 540f, runX);
+            sink += runX[0];
+            n = HudLayout.digits(f * 7, run);
+            HudLayout.center(run, n, advances, 540f, runX);
+            sink += runX[n - 1];
+        }
+        return (long) sink;
+    }
+
+    /** The HUD as GameView draws it, every eighth frame a game-over modal. */
+    private static long drawFrames(GlyphAtlas glyphs, CountingCanvas canvas, int frames) {
+        long calls = 0;
+        for (int f = 0; f < frames; f++) {
+            canvas.wrap(null);
+            glyphs.drawNumber(canvas, f, false, 540f, 200f);
+            if (f % 8 == 0) drawModal(glyphs, canvas, f, f * 7);
+            calls += canvas.getDrawCalls();
+        }
+        return calls;
+    }
+
+    private static void drawModal(GlyphAtlas glyphs, CountingCanvas canvas, int score, int best) {
+        glyphs.drawLabel(canvas, GlyphAtlas.LABEL_SCORE, 540f, 800f);
+        glyphs.drawNumber(canvas, score, true, 540f, 900f);
+        glyphs.drawLabel(canvas, GlyphAtlas.LABEL_BEST, 540f, 1000f);
+        glyphs.drawNumber(canvas, best, true, 540f, 1100f);
+        glyphs.drawLabel(canvas, GlyphAtlas.LABEL_RESTART, 540f, 1300f);
+    }
+}
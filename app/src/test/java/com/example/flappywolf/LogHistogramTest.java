@@ -0,0 +1,107 @@
+package com.example.flappywolf;
+
+import com.example.flappywolf.engine.GameState;
+
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+public class LogHistogramTest {
+
+    @Test
+    public void buckets_coverValuesContiguously() {
+        for (int b = 0; b < LogHistogram.BUCKETS - 1; b++) {
+            assertEquals(b, LogHistogram.bucketOf(LogHistogram.lowerBound(b)));
+            assertEquals(b, LogHistogram.bucketOf(LogHistogram.upperBound(b)));
+            assertEquals(LogHistogram.upperBound(b) + 1, LogHistogram.lowerBound(b + 1));
+        }
+    }
+
+    @Test
+    public void percentiles_withinBucketPrecision() {
+        LogHistogram h = new LogHistogram();
+        Random r = new Random(1);
+        long[] values = new long[10_000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 1_000_000L + (long) (r.nextDouble() * 30_000_000L);
+            h.record(values[i]);
+        }
+        java.util.Arrays.sort(values);
+        for (double q : new double[] { 0.5, 0.95, 0.99 }) {
+            long exact = values[(int) Math.ceil(q * values.length) - 1];
+            long reported = h.percentile(q);
+            assertTrue(q + ": " + reported + " < " + exact, reported >= exact);
+            assertTrue(q + ": " + reported + " vs " + exact, reported <= exact * 1.125);
+        }
+        assertEquals(values[values.length - 1], h.getMax());
+        assertEquals(values.length, h.getCount());
+    }
+
+    @Test
+    public void emptyAndReset() {
+        LogHistogram h = new LogHistogram();
+        assertEquals(0, h.percentile(0.99));
+        h.record(5);
+        h.record(-3);
+        assertEquals(5, h.percentile(1.0));
+        assertEquals(0, h.percentile(0.5));
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+
+    @Test
+    public void frameStats_countsJank() {
+        FrameStats s = new FrameStats();
+        long target = 16_666_667L;
+        for (int i = 0; i < 10; i++) s.frame(target, target);
+        s.frame(target * 2, target);
+        s.frame(target * 3 / 2, target);  // exactly 1.5x is not jank
+        assertEquals(12, s.getFrames());
+        assertEquals(1, s.getJankFrames());
+        assertEquals("16.66", FrameStats.appendMs(new StringBuilder(), target).toString());
+        assertEquals("0.05", FrameStats.appendMs(new StringBuilder(), 50_000L).toString());
+    }
+
+    @Test
+    public void frameStats_countsRenderedPerState() {
+        FrameStats s = new FrameStats();
+        for (int i = 0; i < 3; i++) s.rendered(GameState.PLAYING);
+        s.rendered(GameState.GAMEOVER);
+        s.idle();
+        assertEquals(3, s.getRendered(GameState.PLAYING));
+        assertEquals(1, s.getRendered(GameState.GAMEOVER));
+        assertEquals(0, s.getRendered(GameState.START));
+        assertTrue(s.dump(), s.dump().contains("rendered START 0 PLAYING 3 FALLING 0 GAMEOVER 1 idle 1"));
+        s.reset();
+        assertEquals(0, s.getRendered(GameState.PLAYING));
+        assertEquals(0, s.getIdles());
+    }
+
+    @Test
+    public void frameStats_tracksDrawCalls() {
+        FrameStats s = new FrameStats();
+        s.drawCalls(9);
+        s.drawCalls(14);
+        s.drawCalls(7);
+        assertEquals(7, s.getLastDrawCalls());
+        assertEquals(14, s.getMaxDrawCalls());
+        assertTrue(s.dump(), s.dump().contains("draw calls last 7 max 14"));
+    }
+
+    @Test
+    public void frameStats_reportsDrawTimePerScale() {
+        FrameStats s = new FrameStats();
+        s.recordDraw(1, 8_000_000L);
+        s.recordDraw(2, 3_000_000L);
+        s.recordDraw(2, 3_000_000L);
+        assertEquals(3, s.get(FrameStats.DRAW).getCount());
+        assertEquals(2, s.getDraw(2).getCount());
+        String dump = s.dump();
+        assertTrue(dump, dump.contains("draw 1/1 p50"));
+        assertTrue(dump, dump.contains("draw 1/2 p50"));
+        assertFalse(dump, dump.contains("draw 1/3"));
+    }
+}
@@ -0,0 +1,174 @@
+package com.example.flappywolf;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.Assert.*;
+
+public class LoopLifecycleTest {
+
+    /** Mirrors GameThread.run(): park until RUNNING, then frames until it is not. */
+    static class Loop extends Thread {
+        final LoopLifecycle lifecycle = new LoopLifecycle(() -> LockSupport.unpark(this));
+        final AtomicInteger inside = new AtomicInteger();
+        volatile int maxInside;
+        volatile long frames;
+        volatile Throwable error;
+        volatile CountDownLatch holdFrame;
+
+        @Override public void run() {
+            try {
+                while (lifecycle.awaitRunning()) {
+                    while (lifecycle.isRunning()) {
+                        int n = inside.incrementAndGet();
+                        if (n > maxInside) maxInside = n;
+                        CountDownLatch hold = holdFrame;
+                        if (hold != null) hold.await();
+                        frames++;
+                        inside.decrementAndGet();
+                        // stands in for awaitFrame(); unparked when the loop must stop
+                        LockSupport.parkNanos(20_000);
+                    }
+                }
+            } catch (Throwable t) {
+                error = t;
+            }
+        }
+
+        void awaitFramesAfter(long seen) throws InterruptedException {
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (frames == seen) {
+                assertTrue("loop did not wake", System.nanoTime() < deadline);
+                Thread.sleep(0, 50_000);
+            }
+        }
+    }
+
+    private final Loop loop = new Loop();
+
+    @After
+    public void tearDown() throws InterruptedException {
+        loop.lifecycle.destroy();
+        loop.join(5000);
+        assertFalse("loop thread still alive", loop.isAlive());
+        assertNull(loop.error);
+    }
+
+    @Test
+    public void runsOnlyWithSurfaceAndResumed() throws InterruptedException {
+        loop.start();
+        LoopLifecycle lc = loop.lifecycle;
+        assertEquals(LoopLifecycle.State.PAUSED, lc.getState());
+        lc.setSurfaceReady(true);
+        assertEquals(LoopLifecycle.State.SURFACE_READY, lc.getState());
+        Thread.sleep(20);
+        assertEquals(0, loop.frames);
+
+        lc.setResumed(true);
+        assertEquals(LoopLifecycle.State.RUNNING, lc.getState());
+        loop.awaitFramesAfter(0);
+
+        lc.setResumed(false);
+        long frames = loop.frames;
+        Thread.sleep(20);
+        assertEquals(frames, loop.frames);
+        assertEquals(1, lc.getStints());
+    }
+
+    @Test
+    public void pause_waitsForTheFrameInProgress() throws InterruptedException {
+        loop.start();
+        loop.lifecycle.setSurfaceReady(true);
+        loop.lifecycle.setResumed(true);
+        loop.awaitFramesAfter(0);
+        CountDownLatch hold = new CountDownLatch(1);
+        loop.holdFrame = hold;
+        while (loop.inside.get() == 0) Thread.yield();
+
+        CountDownLatch paused = new CountDownLatch(1);
+        Thread ui = new Thread(() -> {
+            loop.lifecycle.setResumed(false);
+            paused.countDown();
+        });
+        ui.start();
+        assertFalse("pause returned mid-frame", paused.await(50, TimeUnit.MILLISECONDS));
+        hold.countDown();
+        assertTrue(paused.await(5, TimeUnit.SECONDS));
+        assertEquals(0, loop.inside.get());
+        ui.join();
+    }
+
+    @Test
+    public void secondLoopThread_isRefused() throws InterruptedException {
+        loop.start();
+        loop.lifecycle.setSurfaceReady(true);
+        loop.lifecycle.setResumed(true);
+        loop.awaitFramesAfter(0);
+        Throwable[] thrown = new Throwable[1];
+        Thread other = new Thread(() -> {
+            try {
+                loop.lifecycle.awaitRunning();
+            } catch (Throwable t) {
+                thrown[0] = t;
+            }
+        });
+        other.start();
+        other.join(5000);
+        assertTrue(thrown[0] instanceof IllegalStateException);
+    }
+
+    @Test
+    public void destroy_endsTheThreadFromAnyState() throws InterruptedException {
+        loop.start();
+        loop.lifecycle.setSurfaceReady(true);
+        loop.lifecycle.setResumed(true);
+        loop.awaitFramesAfter(0);
+        loop.lifecycle.destroy();
+        loop.join(5000);
+        assertFalse(loop.isAlive());
+        assertEquals(LoopLifecycle.State.DESTROYED, loop.lifecycle.getState());
+        // late callbacks after destroy are ignored
+        loop.lifecycle.setResumed(true);
+        assertEquals(LoopLifecycle.State.DESTROYED, loop.lifecycle.getState());
+    }
+
+    @Test
+    public void stress_pauseResumeAndSurfaceCycles_keepOneLoop() throws InterruptedException {
+        loop.start();
+        LoopLifecycle lc = loop.lifecycle;
+        Random random = new Random(25);
+        boolean surface = false, resumed = false;
+        int entries = 0;
+        for (int i = 0; i < 5000; i++) {
+            boolean wasRunning = surface && resumed;
+            if (random.nextBoolean()) {
+                surface = !surface;
+                lc.setSurfaceReady(surface);
+            } else {
+                resumed = !resumed;
+                lc.setResumed(resumed);
+            }
+            boolean running = surface && resumed;
+            assertEquals(running, lc.getState() == LoopLifecycle.State.RUNNING);
+            if (running && !wasRunning) {
+                entries++;
+                loop.awaitFramesAfter(loop.frames);
+            } else if (!running) {
+                // the call returned, so the loop is parked and stays parked
+                assertEquals("frame in progress after stop", 0, loop.inside.get());
+                long frames = loop.frames;
+                Thread.yield();
+                assertEquals(frames, loop.frames);
+            }
+            assertNull(loop.error);
+        }
+        assertEquals(1, loop.maxInside);
+        assertEquals(entries, lc.getStints());
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.flappywolf;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class QualityGovernorTest {
+    private static final long FRAME = 16_666_667L, MS = 1_000_000L;
+
+    /** Feeds frames whose work time depends on the level, as on a real device. */
+    private static void run(QualityGovernor g, long[] msPerLevel, int frames) {
+        for (int i = 0; i < frames; i++) g.frame(msPerLevel[g.getLevel()] * MS, FRAME);
+    }
+
+    @Test
+    public void fastDevice_staysAtFullQuality() {
+        QualityGovernor g = new QualityGovernor();
+        run(g, new long[] { 6, 5, 5, 4, 3, 3 }, 10_000);
+        assertEquals(0, g.getLevel());
+        assertEquals(0, g.getTransitions());
+    }
+
+    @Test
+    public void slowDevice_stepsDownOneWindowAtATime() {
+        QualityGovernor g = new QualityGovernor();
+        // only dropping the background and half the pixels gets under budget
+        long[] ms = { 30, 28, 26, 22, 14, 14 };
+        run(g, ms, QualityGovernor.WINDOW - 1);
+        assertEquals(0, g.getLevel());
+        run(g, ms, 1);
+        assertEquals(1, g.getLevel());
+        run(g, ms, 10 * QualityGovernor.WINDOW);
+        assertEquals(4, g.getLevel());
+        assertEquals(4, g.getTransitions());
+    }
+
+    @Test
+    public void veryslowDevice_fallsToHalfRate_andStaysThere() {
+        QualityGovernor g = new QualityGovernor();
+        run(g, new long[] { 40, 40, 38, 36, 25, 25 }, 20_000);
+        assertEquals(5, g.getLevel());
+        assertTrue(QualityGovernor.halfRate(g.getLevel()));
+        // 25 ms fits the 33 ms half-rate budget but not a 60 fps one
+        assertEquals(5, g.getTransitions());
+    }
+
+    @Test
+    public void occasionalSpikes_doNotStepDown() {
+        QualityGovernor g = new QualityGovernor();
+        for (int i = 0; i < 10_000; i++) {
+            // a GC pause or a long frame every 10th frame
+            g.frame((i % 10 == 0 ? 40 : 8) * MS, FRAME);
+        }
+        assertEquals(0, g.getLevel());
+    }
+
+    @Test
+    public void recovery_stepsBackUpAfterSustainedHeadroom() {
+        QualityGovernor g = new QualityGovernor();
+        run(g, new long[] { 30, 30, 30, 30, 30, 30 }, 10 * QualityGovernor.WINDOW);
+        assertEquals(5, g.getLevel());
+        // the load goes away, e.g. a background app stopped
+        run(g, new long[] { 4, 4, 4, 4, 4, 4 }, QualityGovernor.UP_FRAMES - 1);
+        assertEquals(5, g.getLevel());
+        run(g, new long[] { 4, 4, 4, 4, 4, 4 }, 5 * QualityGovernor.UP_FRAMES);
+        assertEquals(0, g.getLevel());
+    }
+
+    @Test
+    public void edgeBetweenLevels_backsOffInsteadOfFlickering() {
+        QualityGovernor g = new QualityGovernor();
+        // level 1 is quick enough to try level 0, which is too slow
+        long[] ms = { 20, 9, 9, 9, 9, 9 };
+        run(g, ms, 60 * 60 * 10);  // ten minutes
+        assertTrue(g.getLevel() <= 1);
+        // every round trip doubles the wait, up to one retry every ~2 minutes,
+        // rather than a round trip every 3 seconds (~400 transitions)
+        assertTrue("transitions " + g.getTransitions(), g.getTransitions() <= 24);
+        assertEquals(64 * QualityGovernor.UP_FRAMES, g.getUpAfter());
+    }
+
+    @Test
+    public void log_listsTransitions() {
+        QualityGovernor g = new QualityGovernor();
+        run(g, new long[] { 30, 12, 12, 12, 12, 12 }, 2 * QualityGovernor.WINDOW);
+        assertEquals(1, g.getLevel());
+        String log = g.appendLog(new StringBuilder()).toString();
+        assertTrue(log, log.startsWith("quality 1 unfiltered after 1 changes\n"));
+        assertTrue(log, log.contains("  frame 60: 0 -> 1 (60/60 slow)\n"));
+    }
+
+    @Test
+    public void restartWindow_needsAFullWindowAgain() {
+        QualityGovernor g = new QualityGovernor();
+        run(g, new long[] { 30, 30, 30, 30, 30, 30 }, QualityGovernor.WINDOW - 1);
+        g.restartWindow();
+        run(g, new long[] { 30, 30, 30, 30, 30, 30 }, QualityGovernor.WINDOW - 1);
+        assertEquals(0, g.getLevel());
+    }
+}
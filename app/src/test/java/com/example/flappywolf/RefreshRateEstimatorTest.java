@@ -0,0 +1,47 @@
+package com.example.flappywolf;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RefreshRateEstimatorTest {
+    private static final long HZ60 = 16_666_667L, HZ90 = 11_111_111L, HZ120 = 8_333_333L;
+
+    private static long feed(RefreshRateEstimator e, long t, long interval, int frames) {
+        for (int i = 0; i < frames; i++) {
+            t += interval;
+            e.onVsync(t);
+        }
+        return t;
+    }
+
+    @Test
+    public void refinesTowardsActualRate() {
+        RefreshRateEstimator e = new RefreshRateEstimator(60f);
+        feed(e, 0, HZ60 + 200_000L, 200);  // a slightly slow 59.3 Hz panel
+        assertEquals(HZ60 + 200_000L, e.getIntervalNs(), 20_000L);
+    }
+
+    @Test
+    public void followsModeSwitchUpAndDown() {
+        RefreshRateEstimator e = new RefreshRateEstimator(60f);
+        long t = feed(e, 0, HZ60, 10);
+        t = feed(e, t, HZ120, RefreshRateEstimator.SWITCH_AFTER + 2);
+        assertEquals(120f, e.getRefreshRateHz(), 1f);
+        t = feed(e, t, HZ90, RefreshRateEstimator.SWITCH_AFTER + 2);
+        assertEquals(90f, e.getRefreshRateHz(), 1f);
+        feed(e, t, HZ60, RefreshRateEstimator.SWITCH_AFTER + 2);
+        assertEquals(60f, e.getRefreshRateHz(), 1f);
+    }
+
+    @Test
+    public void ignoresOccasionalDroppedFrames() {
+        RefreshRateEstimator e = new RefreshRateEstimator(120f);
+        long t = 0;
+        for (int i = 0; i < 50; i++) {
+            t = feed(e, t, HZ120, 5);
+            t = feed(e, t, 2 * HZ120, 1);  // one skipped vsync every few frames
+        }
+        assertEquals(120f, e.getRefreshRateHz(), 1f);
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.flappywolf;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class RenderTargetTest {
+
+    @Test
+    public void configure_roundsTargetSizeUp() {
+        RenderTarget t = new RenderTarget();
+        t.configure(3, 1440, 3119);
+        assertEquals(3, t.getScale());
+        assertEquals(480, t.getWidth());
+        assertEquals(1040, t.getHeight());
+        t.configure(9, 1440, 3120);
+        assertEquals(RenderTarget.MAX_SCALE, t.getScale());
+        t.configure(0, 1080, 1920);
+        assertEquals(1, t.getScale());
+        assertEquals(1080, t.getWidth());
+    }
+
+    @Test
+    public void autoScale_keepsShortSideNear720() {
+        assertEquals(1, RenderTarget.autoScale(1080, 2400));
+        assertEquals(2, RenderTarget.autoScale(1440, 3120));
+        assertEquals(1, RenderTarget.autoScale(480, 800));
+        assertEquals(3, RenderTarget.autoScale(2160, 3840));
+    }
+
+    @Test
+    public void scaleOne_mapsTouchesUnchanged() {
+        RenderTarget t = new RenderTarget();
+        t.configure(1, 1080, 1920);
+        assertEquals(123.4f, t.mapX(123.4f), 0f);
+        assertEquals(1919.9f, t.mapY(1919.9f), 0f);
+    }
+
+    @Test
+    public void touches_hitExactlyTheButtonPixelsOnScreen() {
+        // a RESTART button whose edges fall inside target pixels
+        float left = 431.3f, top = 1700.6f, right = 1008.2f, bottom = 1880.9f;
+        for (int scale = 1; scale <= RenderTarget.MAX_SCALE; scale++) {
+            RenderTarget t = new RenderTarget();
+            t.configure(scale, 1440, 3120);
+            for (int px = 400; px < 1040; px++) {
+                // a target pixel shows the button iff its centre is inside it
+                float cx = (px / scale + 0.5f) * scale;
+                boolean shown = cx >= left && cx < right;
+                float x = t.mapX(px + 0.5f);
+                assertEquals("scale " + scale + " x " + px, shown, x >= left && x < right);
+            }
+            for (int py = 1680; py < 1900; py++) {
+                float cy = (py / scale + 0.5f) * scale;
+                boolean shown = cy >= top && cy < bottom;
+                float y = t.mapY(py + 0.5f);
+                assertEquals("scale " + scale + " y " + py, shown, y >= top && y < bottom);
+            }
+        }
+    }
+}
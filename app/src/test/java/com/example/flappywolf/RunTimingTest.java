@@ -0,0 +1,65 @@
+package com.example.flappywolf;
+
+import com.example.flappywolf.engine.GameState;
+import com.example.flappywolf.engine.World;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class RunTimingTest {
+    private static final long TICK = GameThread.TICK_NS;
+
+    @Test
+    public void newTiming_hasNoStart() {
+        assertFalse(new RunTiming().isKnown());
+    }
+
+    @Test
+    public void restoredFallingRun_isTimedFromTheRestore() throws IOException {
+        World original = new World(1080, 1920, 135, 135);
+        original.reset(1);
+        original.tap();
+        // flap into the ceiling: the bird dies and falls to the floor
+        for (int i = 0; i < 1000 && original.getState() == GameState.PLAYING; i++) {
+            original.tap();
+            original.tick();
+        }
+        assertEquals(GameState.FALLING, original.getState());
+        ByteBuffer buf = ByteBuffer.allocate(original.snapshotBytes());
+        original.saveState(buf);
+        buf.flip();
+        World world = new World(1080, 1920, 135, 135);
+        world.restoreState(buf);
+
+        // as GameView.update() does it, on a clock that has run for days
+        long now = 30L * 24 * 3600 * 1_000_000_000L;
+        RunTiming timing = new RunTiming();
+        timing.restored(world.getState(), now, world.getTickCount());
+        assertTrue(timing.isKnown());
+        int ticks = 0;
+        while (world.getState() != GameState.GAMEOVER) {
+            world.tick();
+            ticks++;
+            now += TICK;
+        }
+        assertTrue(ticks > 0);
+        assertEquals(ticks, timing.ticks(world.getTickCount()));
+        assertEquals(ticks * TICK / 1_000_000L, timing.durationMs(now));
+        timing.finished();
+        assertFalse(timing.isKnown());
+    }
+
+    @Test
+    public void restoredFinishedRun_hasNoStart() {
+        RunTiming timing = new RunTiming();
+        timing.started(0, 0);
+        timing.restored(GameState.GAMEOVER, 5 * TICK, 5);
+        assertFalse(timing.isKnown());
+        timing.restored(GameState.START, 5 * TICK, 5);
+        assertFalse(timing.isKnown());
+    }
+}
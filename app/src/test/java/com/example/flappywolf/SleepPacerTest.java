@@ -0,0 +1,77 @@
+package com.example.flappywolf;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SleepPacerTest {
+    private static final long FRAME = 16_666_667L;
+
+    /** Clock that only moves when someone sleeps or work is simulated. */
+    static class FakeClock implements FrameClock {
+        long now = 1_000_000_000L;
+        long slept = 0;
+
+        @Override public long nanoTime() { return now; }
+
+        @Override public void sleepNanos(long ns) {
+            assertTrue("negative sleep", ns > 0);
+            slept += ns;
+            now += ns;
+        }
+    }
+
+    @Test
+    public void fastFrames_sleepToCadence() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        SleepPacer pacer = new SleepPacer(clock, FRAME);
+        pacer.start();
+        long first = pacer.awaitFrame();
+        for (int i = 1; i <= 60; i++) {
+            clock.now += 3_000_000L;  // 3 ms of work
+            assertEquals(first + i * FRAME, pacer.awaitFrame());
+        }
+        assertEquals(60 * (FRAME - 3_000_000L), clock.slept);
+    }
+
+    @Test
+    public void slowFrame_doesNotSleep() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        SleepPacer pacer = new SleepPacer(clock, FRAME);
+        pacer.start();
+        pacer.awaitFrame();
+        clock.now += FRAME + 1_000_000L;
+        pacer.awaitFrame();
+        assertEquals(0, clock.slept);
+    }
+
+    @Test
+    public void longStall_resyncsInsteadOfBursting() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        SleepPacer pacer = new SleepPacer(clock, FRAME);
+        pacer.start();
+        pacer.awaitFrame();
+        clock.now += 10 * FRAME;  // e.g. a GC pause
+        long resumed = pacer.awaitFrame();
+        // the next frame is a full interval later, not immediately
+        clock.now += 1_000_000L;
+        assertEquals(resumed + FRAME, pacer.awaitFrame());
+        assertEquals(FRAME - 1_000_000L, clock.slept);
+    }
+
+    @Test
+    public void wakeFromIdle_drawsImmediately() throws InterruptedException {
+        FakeClock clock = new FakeClock();
+        SleepPacer pacer = new SleepPacer(clock, FRAME);
+        pacer.start();
+        pacer.awaitFrame();
+        pacer.setIdle(true);
+        clock.now += FRAME / 2;  // a tap half a frame into the pause
+        pacer.setIdle(false);
+        assertEquals(clock.now, pacer.awaitFrame());
+        assertEquals(0, clock.slept);
+        // and keeps its cadence from there
+        long woke = clock.now;
+        assertEquals(woke + FRAME, pacer.awaitFrame());
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.flappywolf;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SpriteBatchTest {
+    private static final int PIPE_W = 216, HEAD_H = 100, SCREEN_H = 1920, COIN = 130;
+
+    private static SpriteBatch batch(int maxQuads) {
+        SpriteAtlas atlas = new SpriteAtlas();
+        atlas.layout(PIPE_W, HEAD_H, SCREEN_H, COIN);
+        SpriteBatch b = new SpriteBatch(maxQuads);
+        b.setAtlas(atlas);
+        return b;
+    }
+
+    /** Draw calls for a frame of pairs pipe pairs and their coins. */
+    private static int drawCalls(SpriteBatch batch, int pairs) {
+        Pipe pipe = new Pipe();
+        Coin coin = new Coin();
+        CountingCanvas canvas = new CountingCanvas().wrap(null);
+        batch.begin(canvas);
+        for (int i = 0; i < pairs; i++) {
+            float x = i * 50f;
+            pipe.draw(batch, x, 0, 800, true);
+            pipe.draw(batch, x, 1200, 720, false);
+        }
+        for (int i = 0; i < pairs; i++) coin.draw(batch, i * 50f + 40, 900, i % 2 == 0);
+        batch.end();
+        return canvas.getDrawCalls();
+    }
+
+    @Test
+    public void pipesAndCoins_takeOneDrawCall() {
+        SpriteBatch b = batch(256);
+        for (int pairs : new int[] { 1, 2, 5, 20, 50 }) {
+            assertEquals("pairs " + pairs, 1, drawCalls(b, pairs));
+        }
+        assertEquals(0, drawCalls(b, 0));
+    }
+
+    @Test
+    public void overflow_flushesPerFullBatch() {
+        // 5 quads per pair: 100 pairs is 500 quads, two full batches and a rest
+        assertEquals(3, drawCalls(batch(200), 100));
+    }
+
+    @Test
+    public void bottomPipe_cropsBodyFromAtlasTop() {
+        SpriteBatch b = batch(8);
+        SpriteAtlas a = b.getAtlas();
+        b.begin(new CountingCanvas().wrap(null));
+        new Pipe().draw(b, 100, 1200, 720, false);
+        assertEquals(2, b.size());
+        float[] v = b.vertices(), t = b.texCoords();
+        int bodyH = 720 - HEAD_H;
+        // body: corners top-left and bottom-right, unscaled
+        assertEquals(100, v[0], 0f);
+        assertEquals(1200 + HEAD_H, v[1], 0f);
+        assertEquals(100 + PIPE_W, v[6], 0f);
+        assertEquals(1200 + HEAD_H + bodyH, v[7], 0f);
+        assertEquals(a.left(SpriteAtlas.BODY), t[0], 0f);
+        assertEquals(a.top(SpriteAtlas.BODY), t[1], 0f);
+        assertEquals(a.top(SpriteAtlas.BODY) + bodyH, t[7], 0f);
+        // head: the whole region at the pipe's top
+        assertEquals(1200, v[9], 0f);
+        assertEquals(a.left(SpriteAtlas.HEAD), t[8], 0f);
+        assertEquals(a.bottom(SpriteAtlas.HEAD), t[15], 0f);
+    }
+
+    @Test
+    public void atlas_regionsDoNotOverlap() {
+        SpriteAtlas a = new SpriteAtlas();
+        a.layout(PIPE_W, HEAD_H, SCREEN_H, COIN);
+        for (int r = 0; r < SpriteAtlas.REGIONS; r++) {
+            assertTrue(a.left(r) >= 0 && a.right(r) <= a.getWidth());
+            assertTrue(a.top(r) >= 0 && a.bottom(r) <= a.getHeight());
+            for (int o = 0; o < r; o++) {
+                boolean apart = a.right(r) < a.left(o) || a.right(o) < a.left(r)
+                        || a.bottom(r) < a.top(o) || a.bottom(o) < a.top(r);
+                assertTrue(r + " overlaps " + o, apart);
+            }
+        }
+        assertEquals(COIN, a.width(SpriteAtlas.COIN_SIDE));
+        assertEquals(SCREEN_H, a.height(SpriteAtlas.BODY));
+    }
+}
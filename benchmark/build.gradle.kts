@@ -0,0 +1,32 @@
+plugins {
+    java
+    alias(libs.plugins.jmh)
+}
+
+// JMH benchmarks for the engine hot paths. Run with ./gradlew :benchmark:jmh;
+// results land in build/results/jmh/results.json for comparison between runs.
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    jmh(project(":engine"))
+}
+
+// ReplayBenchmark replays the same recorded sessions the engine tests check
+sourceSets.named("jmh") {
+    resources.srcDir(project(":engine").file("src/test/resources"))
+}
+
+jmh {
+    jmhVersion.set(libs.versions.jmh)
+    // gc profiler adds gc.alloc.rate.norm, i.e. bytes allocated per op
+    profilers.add("gc")
+    resultFormat.set("JSON")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+    // e.g. -Pjmh.includes=Collision to run a subset
+    project.findProperty("jmh.includes")?.let { includes.add(it.toString()) }
+}
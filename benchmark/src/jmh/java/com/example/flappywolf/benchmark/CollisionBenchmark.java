@@ -0,0 +1,82 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.BirdBody;
+import com.example.flappywolf.engine.CoinBody;
+import com.example.flappywolf.engine.PipeBody;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Narrow-phase tests in isolation: circle vs. rectangle for pipes, AABB
+ * for coins, and their swept versions over one tick of scrolling. Birds
+ * are spread over the whole screen height so both hit and miss branches
+ * are taken.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class CollisionBenchmark {
+    private static final int BIRDS = 1024;   // power of two, see next()
+    private static final float W = 1080, H = 1920, SPEED = 8;
+
+    private final BirdBody[] birds = new BirdBody[BIRDS];
+    private PipeBody topPipe, bottomPipe;
+    private CoinBody coin;
+    private PipeBody movingTop, movingBottom;
+    private CoinBody movingCoin;
+    private int cursor;
+
+    @Setup
+    public void setUp() {
+        float pW = W / 5f;
+        for (int i = 0; i < BIRDS; i++) {
+            birds[i] = new BirdBody(135, 135);
+            birds[i].reset(W * 0.2f, H * i / (float) BIRDS);
+        }
+        // pipe pair and coin sitting right on top of the bird column
+        topPipe    = new PipeBody(H * 0.5f, pW, H / 4f, true,  H, W * 0.2f);
+        bottomPipe = new PipeBody(H * 0.5f, pW, H / 4f, false, H, W * 0.2f);
+        coin       = new CoinBody(W * 0.2f, H * 0.5f, pW * 0.6f);
+        // same spots, but having scrolled there during the last tick
+        movingTop    = new PipeBody(H * 0.5f, pW, H / 4f, true,  H, W * 0.2f + SPEED);
+        movingBottom = new PipeBody(H * 0.5f, pW, H / 4f, false, H, W * 0.2f + SPEED);
+        movingCoin   = new CoinBody(W * 0.2f + SPEED, H * 0.5f, pW * 0.6f);
+        movingTop.update(SPEED);
+        movingBottom.update(SPEED);
+        movingCoin.update(SPEED);
+    }
+
+    private BirdBody next() {
+        return birds[cursor++ & (BIRDS - 1)];
+    }
+
+    @Benchmark
+    public boolean pipeCollidesWith() {
+        BirdBody b = next();
+        return topPipe.collidesWith(b) | bottomPipe.collidesWith(b);
+    }
+
+    @Benchmark
+    public boolean coinCollidesWith() {
+        return coin.collidesWith(next());
+    }
+
+    @Benchmark
+    public boolean pipeSweptCollidesWith() {
+        BirdBody b = next();
+        return movingTop.sweptCollidesWith(b) | movingBottom.sweptCollidesWith(b);
+    }
+
+    @Benchmark
+    public boolean coinSweptCollidesWith() {
+        return movingCoin.sweptCollidesWith(next());
+    }
+}
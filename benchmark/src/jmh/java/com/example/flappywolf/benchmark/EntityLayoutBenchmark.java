@@ -0,0 +1,85 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.PipeBody;
+import com.example.flappywolf.engine.PipeStore;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One tick of pipe bookkeeping as World does it: scroll every pipe, score
+ * the ones the bird passed, expire what left the screen and respawn it at
+ * the tail so the count stays constant. The ring variant keeps one
+ * PipeBody object per pipe, as World did before; the store variant is the
+ * struct-of-arrays PipeStore it uses now.
+ *
+ * <p>A normal screen holds about 10 pipe halves; 10000 stands in for an
+ * endless stress mode where the pipes no longer fit in cache as objects.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class EntityLayoutBenchmark {
+    private static final float H = 1920, WIDTH = 100, STEP = 120, SPEED = 8, BIRD_X = 216;
+
+    /** Pipe halves alive at once. */
+    @Param({"10", "100", "10000"})
+    public int entities;
+
+    private EntityRing<PipeBody> ring;
+    private PipeStore store;
+    private float ringTailX, storeTailX;
+
+    @Setup
+    public void setUp() {
+        ring = new EntityRing<>(entities + 1, PipeBody::new);
+        store = new PipeStore(entities + 1);
+        for (int i = 0; i < entities; i++) {
+            ring.add().init(H * 0.5f, WIDTH, H / 4f, i % 2 == 0, H, i * STEP);
+            store.add(H * 0.5f, WIDTH, H / 4f, i % 2 == 0, H, i * STEP);
+        }
+        ringTailX = storeTailX = (entities - 1) * STEP;
+    }
+
+    @Benchmark
+    public int tickObjects() {
+        int score = 0;
+        for (int i = 0, n = ring.size(); i < n; i++) {
+            PipeBody p = ring.get(i);
+            p.update(SPEED);
+            if (!p.isTop() && !p.isScored() && p.getX() + p.getWidth() < BIRD_X) {
+                score++; p.setScored(true);
+            }
+        }
+        ringTailX -= SPEED;
+        while (ring.first().getX() + ring.first().getWidth() < 0) {
+            boolean isTop = ring.first().isTop();
+            ring.removeFirst();
+            ringTailX += STEP;
+            ring.add().init(H * 0.5f, WIDTH, H / 4f, isTop, H, ringTailX);
+        }
+        return score;
+    }
+
+    @Benchmark
+    public int tickArrays() {
+        store.update(SPEED);
+        int score = store.scorePassed(BIRD_X);
+        storeTailX -= SPEED;
+        while (store.getX(0) + store.getWidth(0) < 0) {
+            boolean isTop = store.isTop(0);
+            store.expire(0);
+            storeTailX += STEP;
+            store.add(H * 0.5f, WIDTH, H / 4f, isTop, H, storeTailX);
+        }
+        return score;
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.flappywolf.benchmark;
+
+import java.util.function.Supplier;
+
+/**
+ * The pooled one-object-per-entity FIFO World kept before the
+ * struct-of-arrays stores, here only as the baseline the benchmarks
+ * compare them against. Spawns go to the tail, expiries leave from the
+ * head, and expired instances are handed out again by {@link #add()} to
+ * be re-initialised in place. Sized up front; it does not grow.
+ */
+final class EntityRing<T> {
+    private final Object[] slots;
+    private final int mask;
+    private int head, size;
+
+    EntityRing(int minCapacity, Supplier<T> factory) {
+        int cap = Integer.highestOneBit(Math.max(2, minCapacity) - 1) << 1;
+        slots = new Object[cap];
+        mask = cap - 1;
+        for (int i = 0; i < cap; i++) slots[i] = factory.get();
+    }
+
+    /** Appends a slot at the tail and returns its recycled entity. */
+    @SuppressWarnings("unchecked")
+    T add() {
+        if (size == slots.length) throw new IllegalStateException("full");
+        return (T) slots[(head + size++) & mask];
+    }
+
+    /** i-th live entity, 0 being the oldest. */
+    @SuppressWarnings("unchecked")
+    T get(int i) {
+        return (T) slots[(head + i) & mask];
+    }
+
+    @SuppressWarnings("unchecked")
+    T first() {
+        return (T) slots[head];
+    }
+
+    void removeFirst() {
+        if (size == 0) throw new IllegalStateException("empty");
+        head = (head + 1) & mask;
+        size--;
+    }
+
+    int size() { return size; }
+}
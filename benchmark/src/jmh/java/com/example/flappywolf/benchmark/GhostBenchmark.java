@@ -0,0 +1,77 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.BirdBody;
+import com.example.flappywolf.engine.GhostReader;
+import com.example.flappywolf.engine.GhostWriter;
+import com.example.flappywolf.engine.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Encoding and memory-mapped playback of one minute of ghost track (3600
+ * ticks of piloted play). The encoded size per minute is printed at setup.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GhostBenchmark {
+    private static final int MINUTE = 3600;
+
+    private final float[] ys = new float[MINUTE], vs = new float[MINUTE];
+    private final BirdBody.Mood[] moods = new BirdBody.Mood[MINUTE];
+    private final GhostWriter writer = new GhostWriter(64 * 1024);
+    private GhostReader reader;
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        World world = new World(1080, 1920, 135, 135);
+        for (int i = 0; i < MINUTE; i++) {
+            Pilot.step(world);
+            world.tick();
+            BirdBody b = world.getBird();
+            ys[i] = b.getY();
+            vs[i] = b.getV();
+            moods[i] = b.getMood();
+        }
+        encodeMinute();
+        System.out.println("ghost: " + writer.size() + " bytes per minute");
+        file = File.createTempFile("ghost", ".fwg");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            writer.writeTo(out);
+        }
+        reader = GhostReader.open(file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Benchmark
+    public int encodeMinute() {
+        writer.begin();
+        for (int i = 0; i < MINUTE; i++) writer.append(ys[i], vs[i], moods[i]);
+        return writer.size();
+    }
+
+    @Benchmark
+    public float decodeMinute() {
+        reader.rewind();
+        float sum = 0;
+        while (reader.advance()) sum += reader.getY();
+        return sum;
+    }
+}
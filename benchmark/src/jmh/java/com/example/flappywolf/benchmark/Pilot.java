@@ -0,0 +1,31 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.BirdBody;
+import com.example.flappywolf.engine.GameState;
+import com.example.flappywolf.engine.PipeStore;
+import com.example.flappywolf.engine.World;
+
+/**
+ * Keeps a benchmark world in the PLAYING state: flaps towards the next
+ * gap and restarts the run whenever the bird dies.
+ */
+final class Pilot {
+    private Pilot() {}
+
+    static void step(World world) {
+        if (world.getState() != GameState.PLAYING) {
+            if (world.getState() == GameState.GAMEOVER) world.reset();
+            world.tap();
+        }
+        BirdBody b = world.getBird();
+        float target = world.getHeight() * 0.5f;
+        for (int i = 0, n = world.getPipes().size(); i < n; i++) {
+            PipeStore p = world.getPipes();
+            if (!p.isTop(i) && p.getX(i) + p.getWidth(i) > b.getX()) {
+                target = p.getTop(i) - world.getHeight() / World.PIPE_GAP_FACTOR * 0.5f;
+                break;
+            }
+        }
+        if (b.getY() + b.getHeight() * 0.5f > target + 40 && b.getV() > 0) world.tap();
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.Recording;
+import com.example.flappywolf.engine.Replayer;
+import com.example.flappywolf.engine.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Replays the whole recorded corpus (engine/src/test/resources/recordings)
+ * once per op. Divide by totalTicks, printed at setup, for time per tick;
+ * the same sessions are checked for correctness by ReplayTest.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ReplayBenchmark {
+    private Recording[] corpus;
+    private World[] worlds;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Recording> recs = new ArrayList<>();
+        ClassLoader cl = ReplayBenchmark.class.getClassLoader();
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(
+                cl.getResourceAsStream("recordings/index.txt"), "UTF-8"))) {
+            for (String name; (name = r.readLine()) != null; ) {
+                if (name.trim().isEmpty()) continue;
+                try (InputStream in = cl.getResourceAsStream("recordings/" + name.trim())) {
+                    recs.add(Recording.read(in));
+                }
+            }
+        }
+        corpus = recs.toArray(new Recording[0]);
+        worlds = new World[corpus.length];
+        long ticks = 0;
+        for (int i = 0; i < corpus.length; i++) {
+            Recording rec = corpus[i];
+            worlds[i] = new World(rec.width, rec.height, rec.birdWidth, rec.birdHeight);
+            ticks += rec.endTick;
+        }
+        System.out.println("corpus: " + corpus.length + " sessions, totalTicks=" + ticks);
+    }
+
+    @Benchmark
+    public int replayCorpus() {
+        int scores = 0;
+        for (int i = 0; i < corpus.length; i++) {
+            Replayer.run(corpus[i], worlds[i]);
+            scores += worlds[i].getScore();
+        }
+        return scores;
+    }
+}
@@ -0,0 +1,90 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.RunHistory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The run history with a million runs in its log: opening it from the
+ * summary as the app does at startup, against rebuilding the index by
+ * scanning the whole log, and the cost of appending a thousand runs and
+ * waiting for them to be written.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class RunHistoryBenchmark {
+    private static final int RUNS = 1_000_000, BATCH = 1000, TOP = 10;
+
+    private File dir;
+    private RunHistory appending;
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        dir = Files.createTempDirectory("history").toFile();
+        RunHistory h = RunHistory.open(dir, TOP);
+        for (int i = 0; i < RUNS; i += BATCH) appendBatch(h, i);
+        h.close();
+        System.out.println("history: " + new File(dir, "runs.log").length() + " bytes of log");
+    }
+
+    private static void appendBatch(RunHistory h, int first) throws IOException {
+        for (int i = first; i < first + BATCH; i++) {
+            h.append((int) ((i * 2654435761L) % 500), i % 13, 30_000 + i % 9000, 1800 + i % 540,
+                    i, 1_700_000_000_000L + i * 45_000L);
+        }
+        h.flush();
+    }
+
+    @Setup(Level.Iteration)
+    public void openForAppend() throws IOException {
+        appending = RunHistory.open(dir, TOP);
+    }
+
+    @TearDown(Level.Iteration)
+    public void closeAppend() throws IOException {
+        appending.close();
+    }
+
+    @TearDown
+    public void tearDown() {
+        File[] files = dir.listFiles();
+        if (files != null) for (File f : files) f.delete();
+        dir.delete();
+    }
+
+    @Benchmark
+    public long openFromSummary() throws IOException {
+        RunHistory h = RunHistory.open(dir, TOP);
+        long runs = h.getRuns();
+        h.close();
+        return runs;
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public long rebuildFromLog() throws IOException {
+        return RunHistory.rebuild(dir, TOP).getRuns();
+    }
+
+    @Benchmark
+    public long appendThousandAndFlush() throws IOException {
+        appendBatch(appending, next);
+        next += BATCH;
+        return appending.getRuns();
+    }
+}
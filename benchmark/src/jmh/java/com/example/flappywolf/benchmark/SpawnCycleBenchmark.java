@@ -0,0 +1,89 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.CoinBody;
+import com.example.flappywolf.engine.PipeBody;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The spawn/expire cycle as World does it: append a pipe pair and a coin
+ * at the tail, then drop the oldest ones from the head with
+ * Iterator.remove(). One op is one full spawn plus one full expiry.
+ * The ring variant is the pooled object ring World used until the
+ * struct-of-arrays stores (see EntityLayoutBenchmark); the list variant
+ * is kept as the baseline it replaced.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SpawnCycleBenchmark {
+    private static final float W = 1080, H = 1920;
+
+    /** Pipe pairs alive at once. */
+    @Param({"2", "8", "32"})
+    public int live;
+
+    private final List<PipeBody> pipes = new ArrayList<>();
+    private final List<CoinBody> coins = new ArrayList<>();
+    private EntityRing<PipeBody> pipeRing;
+    private EntityRing<CoinBody> coinRing;
+
+    @Setup
+    public void setUp() {
+        pipeRing = new EntityRing<>(live * 2 + 2, PipeBody::new);
+        coinRing = new EntityRing<>(live + 1, CoinBody::new);
+        for (int i = 0; i < live; i++) {
+            spawn();
+            spawnPooled();
+        }
+    }
+
+    private void spawnPooled() {
+        float pW = W / 5f;
+        pipeRing.add().init(H * 0.5f, pW, H / 4f, true,  H, W);
+        pipeRing.add().init(H * 0.5f, pW, H / 4f, false, H, W);
+        coinRing.add().init(W + pW / 2f, H * 0.5f, pW * 0.6f);
+    }
+
+    private void spawn() {
+        float pW = W / 5f;
+        pipes.add(new PipeBody(H * 0.5f, pW, H / 4f, true,  H, W));
+        pipes.add(new PipeBody(H * 0.5f, pW, H / 4f, false, H, W));
+        coins.add(new CoinBody(W + pW / 2f, H * 0.5f, pW * 0.6f));
+    }
+
+    @Benchmark
+    public int spawnAndExpireList() {
+        spawn();
+        // head entries stand in for the ones that scrolled off screen
+        int expiredPipes = 2;
+        Iterator<PipeBody> pit = pipes.iterator();
+        while (pit.hasNext() && expiredPipes > 0) {
+            pit.next(); pit.remove(); expiredPipes--;
+        }
+        Iterator<CoinBody> cit = coins.iterator();
+        if (cit.hasNext()) { cit.next(); cit.remove(); }
+        return pipes.size() + coins.size();
+    }
+
+    @Benchmark
+    public int spawnAndExpireRing() {
+        spawnPooled();
+        pipeRing.removeFirst();
+        pipeRing.removeFirst();
+        coinRing.removeFirst();
+        return pipeRing.size() + coinRing.size();
+    }
+}
@@ -0,0 +1,46 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One full simulation step, the equivalent of GameView.update(). The
+ * screen width controls how many pipe pairs and coins are alive at once:
+ * roughly 2 on a phone, 3-4 on a tablet and 5 on a wide foldable.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class TickBenchmark {
+    @Param({"1080", "1920", "2880"})
+    public int screenWidth;
+
+    private World world;
+
+    @Setup
+    public void setUp() {
+        world = new World(screenWidth, 1920, 135, 135);
+        // warm the world up to its steady-state entity count
+        for (int i = 0; i < 2000; i++) {
+            Pilot.step(world);
+            world.tick();
+        }
+    }
+
+    @Benchmark
+    public int tick() {
+        Pilot.step(world);
+        world.tick();
+        return world.getScore();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.flappywolf.benchmark;
+
+import com.example.flappywolf.engine.World;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saving a run in progress into a reused buffer and restoring it into
+ * another world, as GameView does on pause and after process death. Run
+ * with -prof gc to confirm neither direction allocates.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class WorldSnapshotBenchmark {
+    private final World world = new World(1080, 1920, 135, 135);
+    private final World target = new World(1080, 1920, 135, 135);
+    private ByteBuffer buf;
+
+    @Setup
+    public void setUp() {
+        world.reset(1);
+        world.tap();
+        // mid-run, with a full screen of pipes
+        for (int i = 0; i < 1200; i++) {
+            Pilot.step(world);
+            world.tick();
+        }
+        buf = ByteBuffer.allocateDirect(world.snapshotBytes());
+        System.out.println("snapshot: " + world.snapshotBytes() + " bytes");
+    }
+
+    @Benchmark
+    public int save() {
+        buf.clear();
+        world.saveState(buf);
+        return buf.position();
+    }
+
+    @Benchmark
+    public int roundTrip() throws IOException {
+        buf.clear();
+        world.saveState(buf);
+        buf.flip();
+        target.restoreState(buf);
+        return target.getScore();
+    }
+}
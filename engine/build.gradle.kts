@@ -0,0 +1,14 @@
+plugins {
+    `java-library`
+}
+
+// Pure-Java game rules, shared by the Android app and JVM-only tooling.
+// Must not depend on android.* so it can be exercised by plain unit tests.
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    testImplementation(libs.junit)
+}
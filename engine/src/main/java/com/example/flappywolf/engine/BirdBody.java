@@ -0,0 +1,86 @@
+package com.example.flappywolf.engine;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Physics state of the player bird. Sizes are in pixels, velocities in
+ * pixels per tick.
+ */
+public class BirdBody {
+    public enum Mood { NEUTRAL, HAPPY, HURT }
+
+    public static final float GRAVITY       = 1f;
+    public static final float JUMP_VELOCITY = -20f;
+    private static final int JUMP_FRAMES = 5;
+
+    private final float width, height;
+    private final float gravity, jumpVelocity;
+    private float x, y, v;
+    private float prevY;   // y at the previous tick, for interpolation
+    private Mood mood = Mood.NEUTRAL;
+    private int frameCount = 0;
+
+    public BirdBody(float width, float height) {
+        this(width, height, GRAVITY, JUMP_VELOCITY);
+    }
+
+    public BirdBody(float width, float height, float gravity, float jumpVelocity) {
+        this.width = width;
+        this.height = height;
+        this.gravity = gravity;
+        this.jumpVelocity = jumpVelocity;
+    }
+
+    /** Places the bird back at its spawn point, at rest. */
+    public void reset(float startX, float startY) {
+        x = startX;
+        y = prevY = startY;
+        v = 0;
+        mood = Mood.NEUTRAL;
+        frameCount = 0;
+    }
+
+    public void update() {
+        prevY = y;
+        v += gravity;
+        y += v;
+        if (mood == Mood.HAPPY) {
+            if (++frameCount > JUMP_FRAMES) { mood = Mood.NEUTRAL; frameCount = 0; }
+        }
+    }
+
+    public void jump() {
+        v = jumpVelocity;
+        mood = Mood.HAPPY;
+        frameCount = 0;
+    }
+
+    public void die() {
+        mood = Mood.HURT;
+    }
+
+    /** Writes the bird's mutable state for {@link World#saveState}. */
+    void save(ByteBuffer out) {
+        out.putFloat(x).putFloat(y).putFloat(prevY).putFloat(v);
+        out.putInt(frameCount).put((byte) mood.ordinal());
+    }
+
+    /** Puts back what {@link #save} wrote; the caller has checked the mood. */
+    void restore(float x, float y, float prevY, float v, int frameCount, Mood mood) {
+        this.x = x;
+        this.y = y;
+        this.prevY = prevY;
+        this.v = v;
+        this.frameCount = frameCount;
+        this.mood = mood;
+    }
+
+    public float getX()      { return x; }
+    public float getY()      { return y; }
+    public float getPrevY()  { return prevY; }
+    public float getV()      { return v; }
+    public void setY(float newY) { y = newY; }
+    public float getWidth()  { return width; }
+    public float getHeight() { return height; }
+    public Mood getMood()    { return mood; }
+}
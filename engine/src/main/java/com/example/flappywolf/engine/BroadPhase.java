@@ -0,0 +1,46 @@
+package com.example.flappywolf.engine;
+
+/**
+ * Broad phase for an {@link EntityStore} of entities that were spawned left
+ * to right and all scroll left at the same speed. The ones that can touch
+ * a fixed column (the bird's) then form one contiguous run of the store,
+ * and that run only ever moves towards the tail; two cursors track it so
+ * the narrow phase looks at one or two entities instead of all of them.
+ */
+public final class BroadPhase {
+    private final EntityStore store;
+    private int start, end;   // [start, end) may overlap the column
+
+    public BroadPhase(EntityStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Moves the window onto the entities that overlapped [minX, maxX] at
+     * any point since the last tick, i.e. anywhere between prevX and x.
+     */
+    public void update(float minX, float maxX) {
+        int n = store.size();
+        while (start < n && store.getPrevX(start) + store.getWidth(start) < minX) start++;
+        if (end < start) end = start;
+        while (end < n && store.getX(end) <= maxX) end++;
+    }
+
+    /** First index in the window. */
+    public int start() { return start; }
+    /** One past the last index in the window. */
+    public int end()   { return end; }
+
+    /** Drops entities off the head whose right edge is left of limit. */
+    public void expire(float limit) {
+        int removed = store.expire(limit);
+        start = Math.max(0, start - removed);
+        end = Math.max(0, end - removed);
+    }
+
+    /** Empties the store and the window with it. */
+    public void clear() {
+        store.clear();
+        start = end = 0;
+    }
+}
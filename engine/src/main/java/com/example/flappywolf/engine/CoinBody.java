@@ -0,0 +1,77 @@
+package com.example.flappywolf.engine;
+
+/**
+ * A collectible coin flying along with the pipes, as an object. The world
+ * keeps its coins in a {@link CoinStore}.
+ */
+public class CoinBody {
+    public static final int DELAY = 20;  // ticks per side
+
+    private float x, y, size;
+    private float prevX;   // x at the previous tick, for interpolation
+    private int frame = 0;
+    private boolean collected = false;
+
+    /** Blank coin for pooling; call {@link #init} before use. */
+    public CoinBody() {}
+
+    public CoinBody(float startX, float centerY, float displaySize) {
+        init(startX, centerY, displaySize);
+    }
+
+    /** (Re)initialises this coin, uncollected, at the given position. */
+    public void init(float startX, float centerY, float displaySize) {
+        x = startX;
+        frame = 0;
+        collected = false;
+        prevX = x;
+        size = displaySize;
+        y = centerY - size / 2f;
+    }
+
+    public void update(float speed) {
+        prevX = x;
+        x -= speed;
+        // advance frame and wrap every 2*DELAY
+        frame = (frame + 1) % (DELAY * 2);
+    }
+
+    public float getX()      { return x; }
+    public float getPrevX()  { return prevX; }
+    public float getY()      { return y; }
+    public float getWidth()  { return size; }
+    public float getHeight() { return size; }
+    /** True while the front face should be shown, false for the side. */
+    public boolean showsFront() { return frame < DELAY; }
+    /** Picked up coins keep scrolling until they expire, but are hidden. */
+    public boolean isCollected() { return collected; }
+    public void collect()        { collected = true; }
+
+    /** Axis-aligned box overlap with the bird sprite. */
+    public boolean collidesWith(BirdBody b) {
+        return hits(b, x, y, size);
+    }
+
+    /**
+     * Like {@link #collidesWith} over the whole last tick, so a fast bird
+     * cannot pass through a coin between two ticks.
+     */
+    public boolean sweptCollidesWith(BirdBody b) {
+        return sweptHits(b, x, prevX, y, size);
+    }
+
+    static boolean hits(BirdBody b, float x, float y, float size) {
+        float bx = b.getX(), by = b.getY();
+        return bx + b.getWidth() > x && bx < x + size
+                && by + b.getHeight() > y && by < y + size;
+    }
+
+    static boolean sweptHits(BirdBody b, float x, float prevX, float y, float size) {
+        // the boxes overlap while the bird's corner is inside the coin
+        // grown by the bird's size; sweep that corner relative to the coin
+        float bx = b.getX(), by = b.getY();
+        float bx0 = bx - (prevX - x), by0 = b.getPrevY();
+        return Geometry.segmentHitsRect(bx0, by0, bx, by,
+                x - b.getWidth(), y - b.getHeight(), x + size, y + size);
+    }
+}
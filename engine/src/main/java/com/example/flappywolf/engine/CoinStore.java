@@ -0,0 +1,32 @@
+package com.example.flappywolf.engine;
+
+/** The world's coins, one per entry of an {@link EntityStore}. */
+public final class CoinStore extends EntityStore {
+    public CoinStore(int minCapacity) {
+        super(minCapacity);
+    }
+
+    /** Adds an uncollected coin, as {@link CoinBody#init} places it. */
+    public int add(float startX, float centerY, float displaySize) {
+        return add(startX, centerY - displaySize / 2f, displaySize, displaySize, 0);
+    }
+
+    public float getY(int i) { return getTop(i); }
+    /** True while the front face should be shown, false for the side. */
+    public boolean showsFront(int i)  { return getFrame(i) % (CoinBody.DELAY * 2) < CoinBody.DELAY; }
+    /** Picked up coins keep scrolling until they expire, but are hidden. */
+    public boolean isCollected(int i) { return hasFlag(i, COLLECTED); }
+    public void collect(int i)        { setFlag(i, COLLECTED); }
+
+    /** See {@link CoinBody#collidesWith}. */
+    public boolean collidesWith(int i, BirdBody b) {
+        int j = head + i;
+        return CoinBody.hits(b, x[j], top[j], width[j]);
+    }
+
+    /** See {@link CoinBody#sweptCollidesWith}. */
+    public boolean sweptCollidesWith(int i, BirdBody b) {
+        int j = head + i;
+        return CoinBody.sweptHits(b, x[j], prevX[j], top[j], width[j]);
+    }
+}
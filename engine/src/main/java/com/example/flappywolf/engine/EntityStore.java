@@ -0,0 +1,141 @@
+package com.example.flappywolf.engine;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Scrolling entities stored as parallel primitive arrays rather than one
+ * object each, so a tick walks a few dense arrays instead of chasing
+ * pointers. Entities are spawned at the tail and expire from the head,
+ * both in x order; index 0 is always the oldest live entity.
+ *
+ * <p>Live entries occupy [head, tail) of the arrays. Expiring only moves
+ * head; the live run is shifted back to 0 when the tail reaches the end,
+ * and the arrays double only if more than half of them are live. After
+ * warm-up a run allocates nothing.
+ */
+public class EntityStore {
+    public static final int IS_TOP = 1, SCORED = 2, COLLECTED = 4;
+
+    float[] x, prevX, top, height, width;
+    byte[] flags;
+    int[] frame;   // ticks since spawn, for animation
+    int head, tail;
+    private int growths;
+
+    public EntityStore(int minCapacity) {
+        allocate(Integer.highestOneBit(Math.max(2, minCapacity) - 1) << 1);
+    }
+
+    /** Appends an entity at the tail and returns its index. */
+    public int add(float x0, float top0, float height0, float width0, int flags0) {
+        if (tail == x.length) makeRoom();
+        int j = tail++;
+        x[j] = prevX[j] = x0;
+        top[j] = top0;
+        height[j] = height0;
+        width[j] = width0;
+        flags[j] = (byte) flags0;
+        frame[j] = 0;
+        return j - head;
+    }
+
+    /** Scrolls every entity left by speed. */
+    public void update(float speed) {
+        int n = tail - head;
+        System.arraycopy(x, head, prevX, head, n);
+        float[] x = this.x;
+        int[] frame = this.frame;
+        for (int i = head; i < tail; i++) x[i] -= speed;
+        for (int i = head; i < tail; i++) frame[i]++;
+    }
+
+    /** Expires entities off the head whose right edge is left of limit; returns how many. */
+    public int expire(float limit) {
+        int h = head;
+        while (h < tail && x[h] + width[h] < limit) h++;
+        int removed = h - head;
+        head = h;
+        if (head == tail) head = tail = 0;
+        return removed;
+    }
+
+    public void clear() {
+        head = tail = 0;
+    }
+
+    public int size()        { return tail - head; }
+    public boolean isEmpty() { return tail == head; }
+    public int capacity()    { return x.length; }
+    /** Number of times the arrays had to grow. */
+    public int growths()     { return growths; }
+
+    public float getX(int i)      { return x[head + i]; }
+    public float getPrevX(int i)  { return prevX[head + i]; }
+    public float getTop(int i)    { return top[head + i]; }
+    public float getHeight(int i) { return height[head + i]; }
+    public float getWidth(int i)  { return width[head + i]; }
+    public int getFrame(int i)    { return frame[head + i]; }
+    public boolean hasFlag(int i, int flag) { return (flags[head + i] & flag) != 0; }
+    public void setFlag(int i, int flag)    { flags[head + i] |= (byte) flag; }
+
+    /** Bytes {@link #save} writes per entity. */
+    static final int SAVED_BYTES = 5 * 4 + 4 + 1;
+
+    /** Writes the live entities, oldest first, for {@link World#saveState}. */
+    void save(ByteBuffer out) {
+        for (int i = head; i < tail; i++) {
+            out.putFloat(x[i]).putFloat(prevX[i]).putFloat(top[i]).putFloat(height[i]).putFloat(width[i]);
+            out.putInt(frame[i]).put(flags[i]);
+        }
+    }
+
+    /** Replaces the contents with n entities written by {@link #save}. */
+    void restore(ByteBuffer in, int n) {
+        clear();
+        for (int k = 0; k < n; k++) {
+            int j = add(in.getFloat(), 0, 0, 0, 0) + head;
+            prevX[j] = in.getFloat();
+            top[j] = in.getFloat();
+            height[j] = in.getFloat();
+            width[j] = in.getFloat();
+            frame[j] = in.getInt();
+            flags[j] = in.get();
+        }
+    }
+
+    private void makeRoom() {
+        int n = tail - head;
+        if (n * 2 > x.length) {
+            growths++;
+            int cap = x.length * 2;
+            x = Arrays.copyOf(x, cap);
+            prevX = Arrays.copyOf(prevX, cap);
+            top = Arrays.copyOf(top, cap);
+            height = Arrays.copyOf(height, cap);
+            width = Arrays.copyOf(width, cap);
+            flags = Arrays.copyOf(flags, cap);
+            frame = Arrays.copyOf(frame, cap);
+        }
+        if (head == 0) return;
+        System.arraycopy(x, head, x, 0, n);
+        System.arraycopy(prevX, head, prevX, 0, n);
+        System.arraycopy(top, head, top, 0, n);
+        System.arraycopy(height, head, height, 0, n);
+        System.arraycopy(width, head, width, 0, n);
+        System.arraycopy(flags, head, flags, 0, n);
+        System.arraycopy(frame, head, frame, 0, n);
+        head = 0;
+        tail = n;
+    }
+
+    private void allocate(int cap) {
+        x = new float[cap];
+        prevX = new float[cap];
+        top = new float[cap];
+        height = new float[cap];
+        width = new float[cap];
+        flags = new byte[cap];
+        frame = new int[cap];
+    }
+}
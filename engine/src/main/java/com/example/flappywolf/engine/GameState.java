@@ -0,0 +1,4 @@
+package com.example.flappywolf.engine;
+
+/** High-level phase of a run. */
+public enum GameState { START, PLAYING, FALLING, GAMEOVER }
@@ -0,0 +1,67 @@
+package com.example.flappywolf.engine;
+
+/** Intersection tests shared by the narrow phase. Edges never count as a hit. */
+final class Geometry {
+    private Geometry() {}
+
+    /** Whether the segment (x0,y0)-(x1,y1) passes through the open rectangle. */
+    static boolean segmentHitsRect(float x0, float y0, float x1, float y1,
+                                   float l, float t, float r, float b) {
+        // Liang-Barsky: clip the segment's parameter range slab by slab
+        float lo = 0, hi = 1;
+        float dx = x1 - x0, dy = y1 - y0;
+        if (dx == 0) {
+            if (x0 <= l || x0 >= r) return false;
+        } else {
+            float a = (l - x0) / dx, c = (r - x0) / dx;
+            lo = Math.max(lo, Math.min(a, c));
+            hi = Math.min(hi, Math.max(a, c));
+            if (lo >= hi) return false;
+        }
+        if (dy == 0) {
+            return y0 > t && y0 < b;
+        }
+        float a = (t - y0) / dy, c = (b - y0) / dy;
+        lo = Math.max(lo, Math.min(a, c));
+        hi = Math.min(hi, Math.max(a, c));
+        return lo < hi;
+    }
+
+    static float distSqToRect(float px, float py, float l, float t, float r, float b) {
+        float dx = px - Math.max(l, Math.min(px, r));
+        float dy = py - Math.max(t, Math.min(py, b));
+        return dx*dx + dy*dy;
+    }
+
+    static float distSqToSegment(float px, float py, float x0, float y0, float x1, float y1) {
+        float dx = x1 - x0, dy = y1 - y0;
+        float len2 = dx*dx + dy*dy;
+        float s = len2 == 0 ? 0 : ((px - x0)*dx + (py - y0)*dy) / len2;
+        s = Math.max(0, Math.min(1, s));
+        float ex = x0 + s*dx - px, ey = y0 + s*dy - py;
+        return ex*ex + ey*ey;
+    }
+
+    /**
+     * Whether a circle of the given radius moving from (x0,y0) to (x1,y1)
+     * touches the rectangle anywhere along the way. Exact: the segment and
+     * rectangle are both convex, so unless they cross, their closest points
+     * involve an end of the segment or a corner of the rectangle.
+     */
+    static boolean sweptCircleHitsRect(float x0, float y0, float x1, float y1, float radius,
+                                       float l, float t, float r, float b) {
+        // cheap reject: the capsule's bounding box misses the rectangle
+        if (Math.min(x0, x1) - radius >= r || Math.max(x0, x1) + radius <= l
+                || Math.min(y0, y1) - radius >= b || Math.max(y0, y1) + radius <= t) {
+            return false;
+        }
+        float r2 = radius * radius;
+        return distSqToRect(x1, y1, l, t, r, b) < r2
+                || distSqToRect(x0, y0, l, t, r, b) < r2
+                || segmentHitsRect(x0, y0, x1, y1, l, t, r, b)
+                || distSqToSegment(l, t, x0, y0, x1, y1) < r2
+                || distSqToSegment(r, t, x0, y0, x1, y1) < r2
+                || distSqToSegment(l, b, x0, y0, x1, y1) < r2
+                || distSqToSegment(r, b, x0, y0, x1, y1) < r2;
+    }
+}
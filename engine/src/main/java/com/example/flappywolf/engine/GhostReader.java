@@ -0,0 +1,100 @@
+package com.example.flappywolf.engine;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Plays back a {@link GhostWriter} track one tick at a time, decoding in
+ * place from a buffer (normally a memory-mapped file), so a long run is
+ * never inflated onto the heap.
+ */
+public final class GhostReader {
+    private static final BirdBody.Mood[] MOODS = BirdBody.Mood.values();
+
+    private final ByteBuffer buf;
+    private int qy, qv;
+    private float y, prevY, v;
+    private BirdBody.Mood mood;
+    private int tick;
+    private boolean active;
+
+    public GhostReader(ByteBuffer data) throws IOException {
+        buf = data.duplicate();
+        if (buf.remaining() < GhostWriter.HEADER || buf.getInt(0) != GhostWriter.MAGIC) {
+            throw new IOException("not a ghost track");
+        }
+        if (buf.get(4) != GhostWriter.VERSION) throw new IOException("unsupported ghost version " + buf.get(4));
+        rewind();
+    }
+
+    /** Maps f read-only; the mapping stays valid after the file is replaced or deleted. */
+    public static GhostReader open(File f) throws IOException {
+        try (FileInputStream in = new FileInputStream(f)) {
+            FileChannel ch = in.getChannel();
+            return new GhostReader(ch.map(FileChannel.MapMode.READ_ONLY, 0, ch.size()));
+        }
+    }
+
+    /** Back to before the first tick; inactive until {@link #advance()}. */
+    public void rewind() {
+        buf.position(GhostWriter.HEADER);
+        qy = qv = 0;
+        y = prevY = v = 0;
+        mood = BirdBody.Mood.NEUTRAL;
+        tick = 0;
+        active = false;
+    }
+
+    /** Moves on one tick; false, and inactive, once the track has run out. */
+    public boolean advance() {
+        int at = buf.position();
+        int head = readVarint();
+        int dy = head < 0 ? -1 : readVarint();
+        if (dy < 0) return end(at);
+        BirdBody.Mood m = mood;
+        if ((head & 1) != 0) {
+            if (!buf.hasRemaining()) return end(at);
+            int o = buf.get() & 0xFF;
+            if (o >= MOODS.length) return end(at);
+            m = MOODS[o];
+        }
+        qv += GhostWriter.unzigzag(head >>> 1);
+        qy += GhostWriter.unzigzag(dy);
+        prevY = active ? y : qy / GhostWriter.SCALE;
+        y = qy / GhostWriter.SCALE;
+        v = qv / GhostWriter.SCALE;
+        mood = m;
+        tick++;
+        active = true;
+        return true;
+    }
+
+    private boolean end(int at) {
+        buf.position(at);
+        active = false;
+        return false;
+    }
+
+    /** Next varint, or -1 if the buffer ends inside it or it is malformed. */
+    private int readVarint() {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            if (!buf.hasRemaining()) return -1;
+            int b = buf.get();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        return -1;
+    }
+
+    public boolean isActive()      { return active; }
+    /** Ticks played back since the last rewind. */
+    public int getTick()           { return tick; }
+    public float getY()            { return y; }
+    public float getPrevY()        { return prevY; }
+    public float getV()            { return v; }
+    public BirdBody.Mood getMood() { return mood; }
+}
@@ -0,0 +1,90 @@
+package com.example.flappywolf.engine;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * Encodes a run's bird track, one record per tick, for later playback as
+ * a ghost by {@link GhostReader}. Encoding happens in memory so it can run
+ * on the game thread; hand the bytes to {@link #writeTo} elsewhere.
+ *
+ * <p>The format is append-only: a header, then records that are never
+ * revisited (no counts or offsets up front), so it can be streamed and a
+ * cut-off file still plays back up to its last whole record.
+ * <pre>
+ * "FWGH" u8 version
+ * per tick: varint (zigzag(dv) &lt;&lt; 1 | moodChanged)  varint zigzag(dy)  [u8 mood]
+ * </pre>
+ * y and v are quantised to 1/8 px and stored as deltas from the previous
+ * tick, starting from 0 and NEUTRAL. A steady fall or climb costs about
+ * three bytes a tick, roughly 10 KB per minute of play.
+ */
+public final class GhostWriter {
+    static final int MAGIC = 0x46574748;  // "FWGH"
+    static final int VERSION = 1;
+    static final float SCALE = 8f;
+    static final int HEADER = 5;
+
+    private byte[] buf;
+    private int size;
+    private int lastY, lastV;
+    private BirdBody.Mood lastMood;
+
+    public GhostWriter(int initialCapacity) {
+        buf = new byte[Math.max(HEADER + 16, initialCapacity)];
+        begin();
+    }
+
+    /** Drops whatever was recorded and starts a new run. */
+    public void begin() {
+        size = 0;
+        putByte(MAGIC >>> 24);
+        putByte(MAGIC >>> 16);
+        putByte(MAGIC >>> 8);
+        putByte(MAGIC);
+        putByte(VERSION);
+        lastY = lastV = 0;
+        lastMood = BirdBody.Mood.NEUTRAL;
+    }
+
+    public void append(BirdBody b) {
+        append(b.getY(), b.getV(), b.getMood());
+    }
+
+    public void append(float y, float v, BirdBody.Mood mood) {
+        if (size + 16 > buf.length) buf = Arrays.copyOf(buf, buf.length * 2);
+        int qy = Math.round(y * SCALE), qv = Math.round(v * SCALE);
+        boolean moodChanged = mood != lastMood;
+        putVarint(zigzag(qv - lastV) << 1 | (moodChanged ? 1 : 0));
+        putVarint(zigzag(qy - lastY));
+        if (moodChanged) putByte(mood.ordinal());
+        lastY = qy;
+        lastV = qv;
+        lastMood = mood;
+    }
+
+    /** Encoded size so far, header included. */
+    public int size() { return size; }
+
+    public byte[] toByteArray() { return Arrays.copyOf(buf, size); }
+
+    public void writeTo(OutputStream out) throws IOException {
+        out.write(buf, 0, size);
+    }
+
+    private void putByte(int b) {
+        buf[size++] = (byte) b;
+    }
+
+    private void putVarint(int v) {
+        while ((v & ~0x7F) != 0) {
+            buf[size++] = (byte) ((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        buf[size++] = (byte) v;
+    }
+
+    static int zigzag(int v) { return (v << 1) ^ (v >> 31); }
+    static int unzigzag(int v) { return (v >>> 1) ^ -(v & 1); }
+}
@@ -0,0 +1,69 @@
+package com.example.flappywolf.engine;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free single-producer/single-consumer ring of timestamped taps.
+ * The UI thread offers events as they arrive; the simulation drains them
+ * at tick boundaries. Storage is preallocated; when full, new events are
+ * dropped rather than blocking the producer.
+ */
+public final class InputQueue {
+    private final long[] times;
+    private final float[] xs, ys;
+    private final int mask;
+    private final AtomicLong head = new AtomicLong();  // next to read, consumer-owned
+    private final AtomicLong tail = new AtomicLong();  // next to write, producer-owned
+
+    public InputQueue(int minCapacity) {
+        int cap = Integer.highestOneBit(Math.max(2, minCapacity) - 1) << 1;
+        times = new long[cap];
+        xs = new float[cap];
+        ys = new float[cap];
+        mask = cap - 1;
+    }
+
+    /** Producer: enqueues a tap at timeNs; false if the queue is full. */
+    public boolean offer(long timeNs, float x, float y) {
+        long t = tail.get();
+        if (t - head.get() == times.length) return false;
+        int i = (int) t & mask;
+        times[i] = timeNs;
+        xs[i] = x;
+        ys[i] = y;
+        tail.lazySet(t + 1);  // publishes the slot written above
+        return true;
+    }
+
+    /** Consumer: true if there is nothing to read. */
+    public boolean isEmpty() {
+        return head.get() == tail.get();
+    }
+
+    /** Consumer: timestamp of the oldest event; only valid if not empty. */
+    public long peekTime() {
+        return times[(int) head.get() & mask];
+    }
+
+    public float peekX() {
+        return xs[(int) head.get() & mask];
+    }
+
+    public float peekY() {
+        return ys[(int) head.get() & mask];
+    }
+
+    /** Consumer: drops the oldest event. */
+    public void remove() {
+        head.lazySet(head.get() + 1);
+    }
+
+    /** Consumer: drops everything queued so far. */
+    public void clear() {
+        head.lazySet(tail.get());
+    }
+
+    public int capacity() {
+        return times.length;
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.flappywolf.engine;
+
+/**
+ * Fixed-capacity particles for cosmetic bursts: sparkles when a coin is
+ * picked up, feathers on a crash. Every attribute lives in a primitive
+ * array, live particles packed into [0, size), so spawning writes one
+ * slot at the end and an expired particle is replaced by the last one
+ * (swap-remove). Nothing is allocated after construction; a burst that
+ * does not fit is cut short and counted in {@link #dropped()}.
+ *
+ * <p>Draws from its own {@link Rng}, so bursts never shift the world's
+ * gameplay randomness and recorded runs still replay exactly.
+ */
+public final class ParticleSystem {
+    public static final byte SPARKLE = 0, FEATHER = 1;
+
+    final float[] x, y, prevX, prevY, vx, vy, ay;
+    final int[] life, maxLife;
+    final byte[] sprite;
+    private final int capacity;
+    private int size;
+    private long dropped;
+    private final Rng random = new Rng(0x5EED);
+
+    public ParticleSystem(int capacity) {
+        this.capacity = capacity;
+        x = new float[capacity];
+        y = new float[capacity];
+        prevX = new float[capacity];
+        prevY = new float[capacity];
+        vx = new float[capacity];
+        vy = new float[capacity];
+        ay = new float[capacity];
+        life = new int[capacity];
+        maxLife = new int[capacity];
+        sprite = new byte[capacity];
+    }
+
+    /** Adds one particle living for ticks; false if the system is full. */
+    public boolean spawn(byte kind, float px, float py, float pvx, float pvy, float pay, int ticks) {
+        if (size == capacity) {
+            dropped++;
+            return false;
+        }
+        int i = size++;
+        x[i] = prevX[i] = px;
+        y[i] = prevY[i] = py;
+        vx[i] = pvx;
+        vy[i] = pvy;
+        ay[i] = pay;
+        life[i] = maxLife[i] = Math.max(1, ticks);
+        sprite[i] = kind;
+        return true;
+    }
+
+    /**
+     * Spawns n particles at px, py flying out in random directions at up
+     * to speed, on top of a shared drift (e.g. the scroll speed), with
+     * lifetimes between half and all of ticks.
+     */
+    public void burst(byte kind, int n, float px, float py, float speed,
+                      float driftX, float gravity, int ticks) {
+        for (int k = 0; k < n; k++) {
+            double a = random.nextFloat() * 2 * Math.PI;
+            float v = speed * (0.3f + 0.7f * random.nextFloat());
+            int t = ticks / 2 + (int) (random.nextFloat() * (ticks - ticks / 2));
+            if (!spawn(kind, px, py, driftX + v * (float) Math.cos(a), v * (float) Math.sin(a), gravity, t)) {
+                dropped += n - k - 1;
+                return;
+            }
+        }
+    }
+
+    /** Moves every particle one tick and swap-removes the expired ones. */
+    public void update() {
+        int n = size;
+        System.arraycopy(x, 0, prevX, 0, n);
+        System.arraycopy(y, 0, prevY, 0, n);
+        for (int i = 0; i < n; i++) {
+            vy[i] += ay[i];
+            x[i] += vx[i];
+            y[i] += vy[i];
+            life[i]--;
+        }
+        for (int i = 0; i < n; ) {
+            if (life[i] > 0) {
+                i++;
+                continue;
+            }
+            // the last particle takes this slot and is checked next
+            int last = --n;
+            x[i] = x[last];
+            y[i] = y[last];
+            prevX[i] = prevX[last];
+            prevY[i] = prevY[last];
+            vx[i] = vx[last];
+            vy[i] = vy[last];
+            ay[i] = ay[last];
+            life[i] = life[last];
+            maxLife[i] = maxLife[last];
+            sprite[i] = sprite[last];
+        }
+        size = n;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    public int size()      { return size; }
+    public int capacity()  { return capacity; }
+    /** Particles that did not fit since construction. */
+    public long dropped()  { return dropped; }
+
+    public float getX(int i)     { return x[i]; }
+    public float getY(int i)     { return y[i]; }
+    public float getPrevX(int i) { return prevX[i]; }
+    public float getPrevY(int i) { return prevY[i]; }
+    public byte getSprite(int i) { return sprite[i]; }
+    /** Remaining share of its life, 1 when spawned, towards 0 when it expires. */
+    public float getLifeLeft(int i) { return life[i] / (float) maxLife[i]; }
+}
@@ -0,0 +1,91 @@
+package com.example.flappywolf.engine;
+
+/**
+ * One half (top or bottom) of a pipe pair as an object. The world keeps
+ * its pipes in a {@link PipeStore}; this form is for one-off geometry and
+ * as the layout the store is benchmarked against.
+ */
+public class PipeBody {
+    private float x, top, totalHeight;
+    private float prevX;   // x at the previous tick, for interpolation
+    private boolean isTop;
+    private boolean scored = false;
+    private float width;
+
+    /** Blank pipe for pooling; call {@link #init} before use. */
+    public PipeBody() {}
+
+    public PipeBody(float centerY, float width, float gapPx,
+                    boolean isTopPipe, float screenH, float screenW) {
+        init(centerY, width, gapPx, isTopPipe, screenH, screenW);
+    }
+
+    /** (Re)initialises this pipe at the right screen edge. */
+    public void init(float centerY, float width, float gapPx,
+                     boolean isTopPipe, float screenH, float screenW) {
+        this.width = width;
+        scored = false;
+        isTop = isTopPipe;
+        float halfGap = gapPx * 0.5f;
+        if (isTop) {
+            top = 0;
+            totalHeight = centerY - halfGap;
+        } else {
+            top = centerY + halfGap;
+            totalHeight = screenH - top;
+        }
+
+        x = screenW;
+        prevX = x;
+    }
+
+    public void update(float speed) {
+        prevX = x;
+        x -= speed;
+    }
+
+    public float getX()           { return x; }
+    public float getPrevX()       { return prevX; }
+    public float getTop()         { return top; }
+    public float getTotalHeight() { return totalHeight; }
+    public float getWidth()       { return width; }
+    public boolean isTop()        { return isTop; }
+    public boolean isScored()     { return scored; }
+    public void setScored(boolean s) { scored = s; }
+
+    /** Circle (60% of the bird's half width) vs. pipe rectangle. */
+    public boolean collidesWith(BirdBody b) {
+        return hits(b, x, top, totalHeight, width);
+    }
+
+    /**
+     * Like {@link #collidesWith} over the whole last tick: the circle is
+     * swept from where it was relative to this pipe to where it is now, so
+     * a fast fall or fast scroll cannot skip over a thin pipe head.
+     */
+    public boolean sweptCollidesWith(BirdBody b) {
+        return sweptHits(b, x, prevX, top, totalHeight, width);
+    }
+
+    // a top pipe has top 0, so either half spans [top, top + height]
+    static boolean hits(BirdBody b, float x, float top, float height, float width) {
+        float cx = b.getX() + b.getWidth()*0.5f;
+        float cy = b.getY() + b.getHeight()*0.5f;
+        float r  = b.getWidth()*0.5f*0.6f;
+
+        float nx = Math.max(x,   Math.min(cx, x + width));
+        float ny = Math.max(top, Math.min(cy, top + height));
+        float dx = cx - nx, dy = cy - ny;
+        return dx*dx + dy*dy < r*r;
+    }
+
+    static boolean sweptHits(BirdBody b, float x, float prevX, float top, float height, float width) {
+        float cx = b.getX() + b.getWidth()*0.5f;
+        float cy = b.getY() + b.getHeight()*0.5f;
+        float r  = b.getWidth()*0.5f*0.6f;
+        // relative to the pipe the bird moved right by however far it scrolled
+        float cx0 = cx - (prevX - x);
+        float cy0 = b.getPrevY() + b.getHeight()*0.5f;
+        return Geometry.sweptCircleHitsRect(cx0, cy0, cx, cy, r, x, top, x + width, top + height);
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.flappywolf.engine;
+
+/** The world's pipes, one pipe half per entry of an {@link EntityStore}. */
+public final class PipeStore extends EntityStore {
+    public PipeStore(int minCapacity) {
+        super(minCapacity);
+    }
+
+    /** Adds a pipe half at the right screen edge, as {@link PipeBody#init} places it. */
+    public int add(float centerY, float width, float gapPx,
+                   boolean isTopPipe, float screenH, float screenW) {
+        float halfGap = gapPx * 0.5f;
+        if (isTopPipe) {
+            return add(screenW, 0, centerY - halfGap, width, IS_TOP);
+        }
+        float top = centerY + halfGap;
+        return add(screenW, top, screenH - top, width, 0);
+    }
+
+    public float getTotalHeight(int i) { return getHeight(i); }
+    public boolean isTop(int i)        { return hasFlag(i, IS_TOP); }
+    public boolean isScored(int i)     { return hasFlag(i, SCORED); }
+
+    /**
+     * Marks every bottom half whose right edge has passed birdX as scored
+     * and returns how many were newly marked.
+     */
+    public int scorePassed(float birdX) {
+        int passed = 0;
+        for (int i = head; i < tail; i++) {
+            if ((flags[i] & (IS_TOP | SCORED)) == 0 && x[i] + width[i] < birdX) {
+                flags[i] |= SCORED;
+                passed++;
+            }
+        }
+        return passed;
+    }
+
+    /** See {@link PipeBody#collidesWith}. */
+    public boolean collidesWith(int i, BirdBody b) {
+        int j = head + i;
+        return PipeBody.hits(b, x[j], top[j], height[j], width[j]);
+    }
+
+    /** See {@link PipeBody#sweptCollidesWith}. */
+    public boolean sweptCollidesWith(int i, BirdBody b) {
+        int j = head + i;
+        return PipeBody.sweptHits(b, x[j], prevX[j], top[j], height[j], width[j]);
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.flappywolf.engine;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+
+/**
+ * One recorded run: everything needed to replay it through {@link World}
+ * (seed, screen and bird size, the ticks taps landed on) plus how it
+ * ended, so a replay can be checked against it.
+ *
+ * <p>Tick numbers count from the tap that started the run. On disk taps
+ * are delta-encoded varints, so a typical run costs one byte per tap:
+ * <pre>
+ * "FWRC" u8 version  i64 seed  f32 width height birdWidth birdHeight
+ * varint tapCount  varint tapDelta*  varint endTick  varint score  u8 state
+ * </pre>
+ */
+public final class Recording {
+    private static final int MAGIC = 0x46575243;  // "FWRC"
+    private static final int VERSION = 1;
+
+    public final long seed;
+    public final float width, height, birdWidth, birdHeight;
+    private final int[] taps;
+    public final int endTick;
+    public final int score;
+    public final GameState endState;
+
+    public Recording(long seed, float width, float height, float birdWidth, float birdHeight,
+                     int[] taps, int endTick, int score, GameState endState) {
+        this.seed = seed;
+        this.width = width;
+        this.height = height;
+        this.birdWidth = birdWidth;
+        this.birdHeight = birdHeight;
+        this.taps = taps;
+        this.endTick = endTick;
+        this.score = score;
+        this.endState = endState;
+    }
+
+    public int getTapCount()      { return taps.length; }
+    /** Tick the i-th tap was applied before, in ascending order. */
+    public int getTap(int i)      { return taps[i]; }
+
+    public void write(OutputStream os) throws IOException {
+        DataOutputStream out = new DataOutputStream(os);
+        out.writeInt(MAGIC);
+        out.writeByte(VERSION);
+        out.writeLong(seed);
+        out.writeFloat(width);
+        out.writeFloat(height);
+        out.writeFloat(birdWidth);
+        out.writeFloat(birdHeight);
+        writeVarint(out, taps.length);
+        int prev = 0;
+        for (int t : taps) {
+            writeVarint(out, t - prev);
+            prev = t;
+        }
+        writeVarint(out, endTick);
+        writeVarint(out, score);
+        out.writeByte(endState.ordinal());
+        out.flush();
+    }
+
+    public static Recording read(InputStream is) throws IOException {
+        DataInputStream in = new DataInputStream(is);
+        if (in.readInt() != MAGIC) throw new IOException("not a recording");
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("unsupported recording version " + version);
+        long seed = in.readLong();
+        float width = in.readFloat(), height = in.readFloat();
+        float birdWidth = in.readFloat(), birdHeight = in.readFloat();
+        int[] taps = new int[readVarint(in)];
+        int t = 0;
+        for (int i = 0; i < taps.length; i++) {
+            t += readVarint(in);
+            taps[i] = t;
+        }
+        int endTick = readVarint(in);
+        int score = readVarint(in);
+        int state = in.readUnsignedByte();
+        if (state >= GameState.values().length) throw new IOException("bad end state " + state);
+        return new Recording(seed, width, height, birdWidth, birdHeight,
+                taps, endTick, score, GameState.values()[state]);
+    }
+
+    static void writeVarint(DataOutputStream out, int v) throws IOException {
+        while ((v & ~0x7F) != 0) {
+            out.writeByte((v & 0x7F) | 0x80);
+            v >>>= 7;
+        }
+        out.writeByte(v);
+    }
+
+    static int readVarint(DataInputStream in) throws IOException {
+        int v = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = in.readUnsignedByte();
+            v |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) return v;
+        }
+        throw new IOException("varint too long");
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (!(o instanceof Recording)) return false;
+        Recording r = (Recording) o;
+        return seed == r.seed && width == r.width && height == r.height
+                && birdWidth == r.birdWidth && birdHeight == r.birdHeight
+                && Arrays.equals(taps, r.taps) && endTick == r.endTick
+                && score == r.score && endState == r.endState;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(seed) * 31 + Arrays.hashCode(taps);
+    }
+
+    @Override
+    public String toString() {
+        return "Recording{seed=" + seed + ", " + width + "x" + height + ", taps=" + taps.length
+                + ", endTick=" + endTick + ", score=" + score + ", " + endState + "}";
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.flappywolf.engine;
+
+/**
+ * Everything the renderer needs from one simulation step, copied into
+ * preallocated arrays so it can be read on another thread while the
+ * world moves on. Positions come in previous/current pairs for
+ * interpolation. Arrays only grow if the world ever holds more entities
+ * than they were sized for.
+ */
+public final class RenderSnapshot {
+    public boolean valid;
+    public long tick;
+    public GameState state = GameState.START;
+    public int score, bestScore;
+    /** Set by the view: a restored run, frozen until the player taps. */
+    public boolean awaitingTap;
+
+    public float birdX, birdY, birdPrevY;
+    public BirdBody.Mood birdMood = BirdBody.Mood.NEUTRAL;
+
+    /** Previous best run, see {@link #captureGhost}. */
+    public boolean ghostVisible;
+    public float ghostY, ghostPrevY;
+    public BirdBody.Mood ghostMood = BirdBody.Mood.NEUTRAL;
+
+    public int pipeCount;
+    public float[] pipeX, pipePrevX, pipeTop, pipeHeight, pipeWidth;
+    public boolean[] pipeIsTop;
+
+    /** Visible (not yet collected) coins only. */
+    public int coinCount;
+    public float[] coinX, coinPrevX, coinY, coinSize;
+    public boolean[] coinFront;
+
+    /** See {@link #captureParticles}. */
+    public int particleCount;
+    public float[] particleX, particlePrevX, particleY, particlePrevY, particleLife;
+    public byte[] particleSprite;
+
+    public RenderSnapshot() {
+        allocPipes(16);
+        allocCoins(8);
+        allocParticles(64);
+    }
+
+    /** Copies the world's current state. */
+    public void capture(World w) {
+        tick = w.getTickCount();
+        state = w.getState();
+        score = w.getScore();
+        bestScore = w.getBestScore();
+
+        BirdBody b = w.getBird();
+        birdX = b.getX();
+        birdY = b.getY();
+        birdPrevY = b.getPrevY();
+        birdMood = b.getMood();
+
+        PipeStore pipes = w.getPipes();
+        if (pipes.size() > pipeX.length) allocPipes(pipes.size() * 2);
+        pipeCount = pipes.size();
+        // the store is already laid out like this; copy the live run over
+        System.arraycopy(pipes.x, pipes.head, pipeX, 0, pipeCount);
+        System.arraycopy(pipes.prevX, pipes.head, pipePrevX, 0, pipeCount);
+        System.arraycopy(pipes.top, pipes.head, pipeTop, 0, pipeCount);
+        System.arraycopy(pipes.height, pipes.head, pipeHeight, 0, pipeCount);
+        System.arraycopy(pipes.width, pipes.head, pipeWidth, 0, pipeCount);
+        for (int i = 0; i < pipeCount; i++) pipeIsTop[i] = pipes.isTop(i);
+
+        CoinStore coins = w.getCoins();
+        if (coins.size() > coinX.length) allocCoins(coins.size() * 2);
+        int n = 0;
+        for (int i = 0; i < coins.size(); i++) {
+            if (coins.isCollected(i)) continue;
+            coinX[n] = coins.getX(i);
+            coinPrevX[n] = coins.getPrevX(i);
+            coinY[n] = coins.getY(i);
+            coinSize[n] = coins.getWidth(i);
+            coinFront[n] = coins.showsFront(i);
+            n++;
+        }
+        coinCount = n;
+        valid = true;
+    }
+
+    /** Copies the ghost's position, or hides it if none is playing. */
+    public void captureGhost(GhostReader g) {
+        ghostVisible = g != null && g.isActive();
+        if (!ghostVisible) return;
+        ghostY = g.getY();
+        ghostPrevY = g.getPrevY();
+        ghostMood = g.getMood();
+    }
+
+    /** Copies every live particle; ps may be null for none. */
+    public void captureParticles(ParticleSystem ps) {
+        int n = ps == null ? 0 : ps.size();
+        if (n > particleX.length) allocParticles(Math.min(ps.capacity(), n * 2));
+        particleCount = n;
+        if (n == 0) return;
+        System.arraycopy(ps.x, 0, particleX, 0, n);
+        System.arraycopy(ps.prevX, 0, particlePrevX, 0, n);
+        System.arraycopy(ps.y, 0, particleY, 0, n);
+        System.arraycopy(ps.prevY, 0, particlePrevY, 0, n);
+        System.arraycopy(ps.sprite, 0, particleSprite, 0, n);
+        for (int i = 0; i < n; i++) particleLife[i] = ps.getLifeLeft(i);
+    }
+
+    private void allocPipes(int n) {
+        pipeX = new float[n];
+        pipePrevX = new float[n];
+        pipeTop = new float[n];
+        pipeHeight = new float[n];
+        pipeWidth = new float[n];
+        pipeIsTop = new boolean[n];
+    }
+
+    private void allocCoins(int n) {
+        coinX = new float[n];
+        coinPrevX = new float[n];
+        coinY = new float[n];
+        coinSize = new float[n];
+        coinFront = new boolean[n];
+    }
+
+    private void allocParticles(int n) {
+        particleX = new float[n];
+        particlePrevX = new float[n];
+        particleY = new float[n];
+        particlePrevY = new float[n];
+        particleLife = new float[n];
+        particleSprite = new byte[n];
+    }
+}
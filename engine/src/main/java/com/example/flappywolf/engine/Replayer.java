@@ -0,0 +1,37 @@
+package com.example.flappywolf.engine;
+
+/**
+ * Re-runs a {@link Recording} through {@link World} headless and as fast
+ * as the tick logic allows.
+ */
+public final class Replayer {
+    private Replayer() {}
+
+    /** Replays rec from scratch and returns the world as it stands at rec's end tick. */
+    public static World run(Recording rec) {
+        World world = new World(rec.width, rec.height, rec.birdWidth, rec.birdHeight);
+        run(rec, world);
+        return world;
+    }
+
+    /** Replays rec in an existing world of the same size, resetting it first. */
+    public static void run(Recording rec, World world) {
+        world.reset(rec.seed);
+        int next = 0, taps = rec.getTapCount();
+        for (int t = 0; t < rec.endTick; t++) {
+            while (next < taps && rec.getTap(next) == t) {
+                world.tap();
+                next++;
+            }
+            world.tick();
+        }
+    }
+
+    /** Null if replaying rec ends with its recorded score and state, else what differs. */
+    public static String verify(Recording rec) {
+        World world = run(rec);
+        if (world.getScore() == rec.score && world.getState() == rec.endState) return null;
+        return "expected score " + rec.score + " " + rec.endState
+                + ", replay got " + world.getScore() + " " + world.getState();
+    }
+}
@@ -0,0 +1,29 @@
+package com.example.flappywolf.engine;
+
+/**
+ * Small seeded generator (SplitMix64) for gameplay randomness. Unlike
+ * {@link java.util.Random} its whole state is one long that can be read
+ * back, so a run can be reproduced from its seed.
+ */
+public final class Rng {
+    private long state;
+
+    public Rng(long seed) {
+        state = seed;
+    }
+
+    public void setState(long s) { state = s; }
+    public long getState()       { return state; }
+
+    public long nextLong() {
+        long z = (state += 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /** Uniform in [0, 1). */
+    public float nextFloat() {
+        return (nextLong() >>> 40) * 0x1.0p-24f;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.flappywolf.engine;
+
+/**
+ * The tunable constants of the game. {@link #DEFAULT} is the shipped
+ * game; balance sweeps build variations with the with* methods, which
+ * return copies.
+ */
+public final class Rules {
+    public static final Rules DEFAULT = new Rules(World.PIPE_GAP_FACTOR, World.PIPE_SPACING,
+            World.SPEED, BirdBody.JUMP_VELOCITY, BirdBody.GRAVITY);
+
+    /** Gap between a pipe pair is the screen height divided by this. */
+    public final float pipeGapFactor;
+    /** Scrolled distance between two pipe pairs, in pixels. */
+    public final float pipeSpacing;
+    /** Scroll speed, in pixels per tick. */
+    public final float speed;
+    /** Bird velocity right after a flap, in pixels per tick (negative is up). */
+    public final float jumpVelocity;
+    /** Added to the bird's velocity every tick. */
+    public final float gravity;
+
+    public Rules(float pipeGapFactor, float pipeSpacing, float speed,
+                 float jumpVelocity, float gravity) {
+        this.pipeGapFactor = pipeGapFactor;
+        this.pipeSpacing = pipeSpacing;
+        this.speed = speed;
+        this.jumpVelocity = jumpVelocity;
+        this.gravity = gravity;
+    }
+
+    public Rules withPipeGapFactor(float f) { return new Rules(f, pipeSpacing, speed, jumpVelocity, gravity); }
+    public Rules withPipeSpacing(float s)   { return new Rules(pipeGapFactor, s, speed, jumpVelocity, gravity); }
+    public Rules withSpeed(float s)         { return new Rules(pipeGapFactor, pipeSpacing, s, jumpVelocity, gravity); }
+    public Rules withJumpVelocity(float v)  { return new Rules(pipeGapFactor, pipeSpacing, speed, v, gravity); }
+    public Rules withGravity(float g)       { return new Rules(pipeGapFactor, pipeSpacing, speed, jumpVelocity, g); }
+
+    @Override
+    public String toString() {
+        return "gap=" + pipeGapFactor + " spacing=" + pipeSpacing + " speed=" + speed
+                + " jump=" + jumpVelocity + " gravity=" + gravity;
+    }
+}
@@ -0,0 +1,412 @@
+package com.example.flappywolf.engine;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Every finished run, kept in an append-only log of fixed-size binary
+ * records: score, coins, duration, ticks, seed and timestamp.
+ *
+ * <p>The log has a small summary file next to it with the totals, the
+ * top {@code topN} runs and how many log bytes they cover. Opening
+ * reads the summary plus any records appended after it was written, so
+ * startup never scans the whole log; only a missing or damaged summary
+ * falls back to a full scan.
+ *
+ * <p>{@link #append} is for the game thread and does no I/O. It updates
+ * the in-memory index and queues the record in a preallocated buffer. A
+ * writer thread, started on the first append, waits up to
+ * {@link #LINGER_MS} for more records, writes everything queued in one
+ * call and then rewrites the summary. If the writer falls more than
+ * {@code queueCapacity} records behind, the newest runs are dropped
+ * rather than blocking the game, and counted in {@link #dropped()}.
+ * If a write fails the writer stops and keeps the records it could not
+ * write; the next append (or close) starts a new writer that retries
+ * them, and {@link #takeFailure()} hands the error to the caller.
+ *
+ * <p>Log format: "FWRL", u8 version, 3 reserved bytes, then records of
+ * {@link #RECORD_BYTES}: i32 score, i32 coins, i32 durationMs, i32 ticks,
+ * i64 seed, i64 timestampMs, big-endian. A torn record at the end of the
+ * log is ignored and overwritten by the next write.
+ */
+public final class RunHistory implements Closeable {
+    public static final int RECORD_BYTES = 32;
+    static final int LOG_HEADER = 8;
+    private static final int SUMMARY_HEADER = 56;
+    static final long LINGER_MS = 500;
+    private static final int LOG_MAGIC = 0x4657524C;      // "FWRL"
+    private static final int SUMMARY_MAGIC = 0x46575253;  // "FWRS"
+    private static final int VERSION = 1;
+    private static final int DEFAULT_QUEUE = 1024;
+
+    private final File log, summary;
+    private final int topN;
+
+    // the index: guarded by this, updated by append() on the game thread
+    private final int[] topScore, topCoins, topDuration, topTicks;
+    private final long[] topSeed, topTime;
+    private int topCount;
+    private long runs, totalTicks, totalCoins, totalDurationMs;
+    private long coveredBytes;   // log bytes the index includes, written or queued
+
+    // records not yet written, guarded by this
+    private final ByteBuffer queue;
+    private long dropped;
+    private boolean flushRequested, closed, failed;
+    private Exception failure;
+    private long queuedUpTo, writtenUpTo;   // in log bytes
+    private Thread writer;
+
+    // writer thread only; a new writer takes over from a failed one
+    private ByteBuffer batch;
+    private long batchStart;
+    private final ByteBuffer summaryBuf;
+    private FileChannel channel;
+
+    private RunHistory(File dir, int topN, int queueCapacity) {
+        this.log = new File(dir, "runs.log");
+        this.summary = new File(dir, "runs.summary");
+        this.topN = topN;
+        topScore = new int[topN];
+        topCoins = new int[topN];
+        topDuration = new int[topN];
+        topTicks = new int[topN];
+        topSeed = new long[topN];
+        topTime = new long[topN];
+        queue = ByteBuffer.allocate(queueCapacity * RECORD_BYTES);
+        summaryBuf = ByteBuffer.allocate(SUMMARY_HEADER + topN * RECORD_BYTES);
+    }
+
+    /** Opens (or creates) the history in dir, keeping the best topN runs in memory. */
+    public static RunHistory open(File dir, int topN) throws IOException {
+        return open(dir, topN, DEFAULT_QUEUE);
+    }
+
+    static RunHistory open(File dir, int topN, int queueCapacity) throws IOException {
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("cannot create " + dir);
+        RunHistory h = new RunHistory(dir, topN, queueCapacity);
+        long logBytes = h.log.length();
+        if (logBytes < LOG_HEADER) {
+            logBytes = LOG_HEADER;
+            h.coveredBytes = LOG_HEADER;
+        } else {
+            checkLogHeader(h.log);
+            // whole records only; a torn tail is overwritten later
+            logBytes = LOG_HEADER + (logBytes - LOG_HEADER) / RECORD_BYTES * RECORD_BYTES;
+            if (!h.readSummary(logBytes)) h.clearIndex();
+            h.scan(h.coveredBytes, logBytes);
+        }
+        h.queuedUpTo = h.writtenUpTo = logBytes;
+        return h;
+    }
+
+    private static void checkLogHeader(File log) throws IOException {
+        try (DataInputStream in = new DataInputStream(new FileInputStream(log))) {
+            int magic = in.readInt(), version = in.readUnsignedByte();
+            if (magic != LOG_MAGIC) throw new IOException("not a run log: " + log);
+            if (version != VERSION) throw new IOException("unsupported run log version " + version);
+        }
+    }
+
+    /** Loads the summary if it is intact and covers no more than the log has. */
+    private boolean readSummary(long logBytes) {
+        if (!summary.isFile()) return false;
+        try (DataInputStream in = new DataInputStream(new FileInputStream(summary))) {
+            if (in.readInt() != SUMMARY_MAGIC || in.readUnsignedByte() != VERSION) return false;
+            in.skipBytes(3);
+            long covered = in.readLong();
+            if (covered < LOG_HEADER || covered > logBytes) return false;
+            runs = in.readLong();
+            totalTicks = in.readLong();
+            totalCoins = in.readLong();
+            totalDurationMs = in.readLong();
+            int n = in.readInt();
+            in.skipBytes(4);
+            for (int i = 0; i < n; i++) {
+                insert(in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readLong(), in.readLong());
+            }
+            coveredBytes = covered;
+            return true;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    private void clearIndex() {
+        topCount = 0;
+        runs = totalTicks = totalCoins = totalDurationMs = 0;
+        coveredBytes = LOG_HEADER;
+    }
+
+    /** Adds the log's records in [from, to) to the index. */
+    private void scan(long from, long to) throws IOException {
+        if (from >= to) return;
+        try (FileChannel ch = new RandomAccessFile(log, "r").getChannel()) {
+            ByteBuffer buf = ByteBuffer.allocate(4096 * RECORD_BYTES);
+            long pos = from;
+            while (pos < to) {
+                buf.clear();
+                buf.limit((int) Math.min(buf.capacity(), to - pos));
+                while (buf.hasRemaining()) {
+                    if (ch.read(buf, pos + buf.position()) < 0) throw new IOException("log shrank");
+                }
+                buf.flip();
+                while (buf.remaining() >= RECORD_BYTES) {
+                    index(buf.getInt(), buf.getInt(), buf.getInt(), buf.getInt(), buf.getLong(), buf.getLong());
+                }
+                pos += buf.limit();
+            }
+        }
+        coveredBytes = to;
+    }
+
+    /**
+     * Records a finished run. Never blocks on I/O; the record reaches the
+     * log on the writer thread within about {@link #LINGER_MS}.
+     */
+    public synchronized void append(int score, int coins, int durationMs, int ticks,
+                                    long seed, long timestampMs) {
+        if (closed) throw new IllegalStateException("closed");
+        // the first append, or the first since the writer failed
+        if (writer == null) startWriter();
+        if (queue.remaining() < RECORD_BYTES) {
+            dropped++;
+            return;
+        }
+        queue.putInt(score).putInt(coins).putInt(durationMs).putInt(ticks)
+                .putLong(seed).putLong(timestampMs);
+        queuedUpTo += RECORD_BYTES;
+        index(score, coins, durationMs, ticks, seed, timestampMs);
+        coveredBytes = queuedUpTo;
+        notifyAll();
+    }
+
+    /** Caller holds the lock. */
+    private void startWriter() {
+        failed = false;
+        writer = new Thread(this::writeLoop, "run-history");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private void index(int score, int coins, int durationMs, int ticks, long seed, long time) {
+        runs++;
+        totalTicks += ticks;
+        totalCoins += coins;
+        totalDurationMs += durationMs;
+        insert(score, coins, durationMs, ticks, seed, time);
+    }
+
+    /** Inserts into the top list, best score first, earlier runs first on ties. */
+    private void insert(int score, int coins, int durationMs, int ticks, long seed, long time) {
+        int at = topCount;
+        while (at > 0 && topScore[at - 1] < score) at--;
+        if (at >= topN) return;
+        int move = Math.min(topCount, topN - 1) - at;
+        System.arraycopy(topScore, at, topScore, at + 1, move);
+        System.arraycopy(topCoins, at, topCoins, at + 1, move);
+        System.arraycopy(topDuration, at, topDuration, at + 1, move);
+        System.arraycopy(topTicks, at, topTicks, at + 1, move);
+        System.arraycopy(topSeed, at, topSeed, at + 1, move);
+        System.arraycopy(topTime, at, topTime, at + 1, move);
+        topScore[at] = score;
+        topCoins[at] = coins;
+        topDuration[at] = durationMs;
+        topTicks[at] = ticks;
+        topSeed[at] = seed;
+        topTime[at] = time;
+        if (topCount < topN) topCount++;
+    }
+
+    private void writeLoop() {
+        Exception error = null;
+        try {
+            while (writeBatch()) { /* until closed and drained */ }
+        } catch (InterruptedException ignored) {
+            // only close() interrupts, after draining
+        } catch (IOException | RuntimeException e) {
+            error = e;
+        }
+        try {
+            if (channel != null) channel.close();
+        } catch (IOException ignored) {
+        }
+        channel = null;
+        if (error == null) return;
+        // later runs queue up until the next append starts a new writer
+        synchronized (this) {
+            failed = true;
+            failure = error;
+            writer = null;
+            notifyAll();
+        }
+    }
+
+    /** Waits for records, writes them and the summary; false once closed and empty. */
+    private boolean writeBatch() throws IOException, InterruptedException {
+        // a batch a failed writer left part-written goes first
+        boolean retry = batch != null && batch.hasRemaining();
+        if (!retry) {
+            synchronized (this) {
+                while (queue.position() == 0 && !closed) wait();
+                if (queue.position() == 0) return false;
+                // linger a little so runs finishing close together share a write
+                long deadline = System.currentTimeMillis() + LINGER_MS;
+                for (long left = LINGER_MS; left > 0 && !flushRequested && !closed
+                        && queue.remaining() >= RECORD_BYTES; left = deadline - System.currentTimeMillis()) {
+                    wait(left);
+                }
+                flushRequested = false;
+                if (batch == null) batch = ByteBuffer.allocate(queue.capacity());
+                queue.flip();
+                batch.clear();
+                batch.put(queue);
+                batch.flip();
+                queue.clear();
+                batchStart = writtenUpTo;
+                fillSummary(batchStart + batch.limit());
+            }
+        }
+
+        if (channel == null) channel = openLog();
+        long pos = batchStart + batch.position();
+        while (batch.hasRemaining()) pos += channel.write(batch, pos);
+        try {
+            // the index has moved past a retried batch; the next batch writes the summary
+            if (!retry) writeSummary();
+        } finally {
+            // the records are in the log whether or not the summary made it
+            synchronized (this) {
+                writtenUpTo = pos;
+                notifyAll();
+            }
+        }
+        return true;
+    }
+
+    private FileChannel openLog() throws IOException {
+        FileChannel ch = new RandomAccessFile(log, "rw").getChannel();
+        if (ch.size() < LOG_HEADER) {
+            ByteBuffer header = ByteBuffer.allocate(LOG_HEADER);
+            header.putInt(LOG_MAGIC).put((byte) VERSION).put(new byte[3]).flip();
+            while (header.hasRemaining()) ch.write(header, header.position());
+        }
+        return ch;
+    }
+
+    /** Copies the index into summaryBuf; caller holds the lock. */
+    private void fillSummary(long covered) {
+        ByteBuffer b = summaryBuf;
+        b.clear();
+        b.putInt(SUMMARY_MAGIC).put((byte) VERSION).put(new byte[3]);
+        b.putLong(covered).putLong(runs).putLong(totalTicks).putLong(totalCoins).putLong(totalDurationMs);
+        b.putInt(topCount).putInt(0);
+        for (int i = 0; i < topCount; i++) {
+            b.putInt(topScore[i]).putInt(topCoins[i]).putInt(topDuration[i]).putInt(topTicks[i])
+                    .putLong(topSeed[i]).putLong(topTime[i]);
+        }
+        b.flip();
+    }
+
+    /** Replaces the summary atomically, after the log records it covers are written. */
+    private void writeSummary() throws IOException {
+        File tmp = new File(summary.getPath() + ".tmp");
+        try (FileChannel ch = new RandomAccessFile(tmp, "rw").getChannel()) {
+            ch.truncate(0);
+            while (summaryBuf.hasRemaining()) ch.write(summaryBuf);
+        }
+        if (!tmp.renameTo(summary)) {
+            // some filesystems refuse to rename over an existing file
+            if (!summary.delete() || !tmp.renameTo(summary)) throw new IOException("cannot replace " + summary);
+        }
+    }
+
+    /** Blocks until every run appended so far is in the log. Not for the game thread. */
+    public void flush() throws IOException {
+        synchronized (this) {
+            flushRequested = true;
+            notifyAll();
+            boolean interrupted = false;
+            while (writtenUpTo < queuedUpTo && !failed) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) Thread.currentThread().interrupt();
+            if (writtenUpTo < queuedUpTo) throw new IOException("run history writer failed", failure);
+        }
+    }
+
+    /**
+     * The error that last stopped the writer, or null; cleared by the call.
+     * The records it could not write are retried by the next append.
+     */
+    public synchronized Exception takeFailure() {
+        Exception e = failure;
+        failure = null;
+        return e;
+    }
+
+    /** Asks the writer to stop lingering, e.g. when the app goes to the background. */
+    public synchronized void requestFlush() {
+        flushRequested = true;
+        notifyAll();
+    }
+
+    /** Writes what is queued and stops the writer. */
+    @Override
+    public void close() throws IOException {
+        Thread w;
+        synchronized (this) {
+            if (closed) return;
+            closed = true;
+            // one last try for whatever a failed writer left behind
+            if (writer == null && failed) startWriter();
+            notifyAll();
+            w = writer;
+        }
+        if (w == null) return;
+        try {
+            w.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        synchronized (this) {
+            if (writtenUpTo < queuedUpTo) throw new IOException("run history writer failed", failure);
+        }
+    }
+
+    public synchronized int getBestScore()          { return topCount == 0 ? 0 : topScore[0]; }
+    public synchronized int getTopCount()           { return topCount; }
+    public synchronized int getTopScore(int i)      { return topScore[i]; }
+    public synchronized int getTopCoins(int i)      { return topCoins[i]; }
+    public synchronized int getTopDurationMs(int i) { return topDuration[i]; }
+    public synchronized int getTopTicks(int i)      { return topTicks[i]; }
+    public synchronized long getTopSeed(int i)      { return topSeed[i]; }
+    public synchronized long getTopTimestamp(int i) { return topTime[i]; }
+    public synchronized long getRuns()              { return runs; }
+    public synchronized long getTotalTicks()        { return totalTicks; }
+    public synchronized long getTotalCoins()        { return totalCoins; }
+    public synchronized long getTotalDurationMs()   { return totalDurationMs; }
+    /** Runs lost because the writer fell behind. */
+    public synchronized long dropped()              { return dropped; }
+
+    /** Rebuilds the index from the log alone, ignoring the summary; for checks and benchmarks. */
+    public static RunHistory rebuild(File dir, int topN) throws IOException {
+        RunHistory h = new RunHistory(dir, topN, 1);
+        long logBytes = h.log.length();
+        if (logBytes >= LOG_HEADER) checkLogHeader(h.log);
+        h.clearIndex();
+        h.scan(LOG_HEADER, LOG_HEADER + Math.max(0, logBytes - LOG_HEADER) / RECORD_BYTES * RECORD_BYTES);
+        h.closed = true;
+        return h;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.flappywolf.engine;
+
+import java.util.Arrays;
+
+/**
+ * Records the run being played in a {@link World} as a {@link Recording}.
+ * Call {@link #beforeTap(World)} just before each tap is applied and
+ * {@link #afterTick(World)} after each tick; a recording starts with the
+ * tap that leaves the START screen and ends on game over.
+ */
+public final class SessionRecorder {
+    private int[] taps = new int[256];
+    private int tapCount;
+    private boolean active;
+    private long startTick;
+    private long seed;
+    private float width, height;
+
+    public void beforeTap(World world) {
+        GameState state = world.getState();
+        if (state == GameState.START) {
+            active = true;
+            tapCount = 0;
+            startTick = world.getTickCount();
+            seed = world.getSeed();
+            width = world.getWidth();
+            height = world.getHeight();
+        }
+        if (!active || state == GameState.GAMEOVER) return;
+        if (tapCount == taps.length) taps = Arrays.copyOf(taps, tapCount * 2);
+        taps[tapCount++] = (int) (world.getTickCount() - startTick);
+    }
+
+    /** Returns the finished recording on the tick the run ended, else null. */
+    public Recording afterTick(World world) {
+        if (!active || world.getState() != GameState.GAMEOVER) return null;
+        active = false;
+        BirdBody b = world.getBird();
+        return new Recording(seed, width, height, b.getWidth(), b.getHeight(),
+                Arrays.copyOf(taps, tapCount), (int) (world.getTickCount() - startTick),
+                world.getScore(), world.getState());
+    }
+
+    public boolean isRecording() { return active; }
+}
@@ -0,0 +1,49 @@
+package com.example.flappywolf.engine;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Lock-free single-producer/single-consumer triple buffer. The producer
+ * fills {@link #back()} and {@link #publish()}es it; the consumer takes
+ * the most recently published slot with {@link #latest()}. Neither side
+ * ever waits for the other, and each owns its slot exclusively until it
+ * hands it over, so slot contents need no further synchronisation.
+ */
+public final class TripleBuffer<T> {
+    private static final int INDEX = 0b11;
+    private static final int FRESH = 0b100;
+
+    private final Object[] slots = new Object[3];
+    // index of the slot in the middle, plus FRESH if the producer put it there
+    private final AtomicInteger middle = new AtomicInteger(1);
+    private int back = 0;   // producer-owned
+    private int front = 2;  // consumer-owned
+
+    public TripleBuffer(Supplier<T> factory) {
+        for (int i = 0; i < slots.length; i++) slots[i] = factory.get();
+    }
+
+    /** Producer: the slot to fill next. */
+    @SuppressWarnings("unchecked")
+    public T back() {
+        return (T) slots[back];
+    }
+
+    /** Producer: hands the filled back slot to the consumer. */
+    public void publish() {
+        back = middle.getAndSet(back | FRESH) & INDEX;
+    }
+
+    /**
+     * Consumer: the newest published slot, or the one returned last time
+     * if nothing was published since.
+     */
+    @SuppressWarnings("unchecked")
+    public T latest() {
+        if ((middle.get() & FRESH) != 0) {
+            front = middle.getAndSet(front) & INDEX;
+        }
+        return (T) slots[front];
+    }
+}
@@ -0,0 +1,326 @@
+package com.example.flappywolf.engine;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * All game rules: spawning, movement, collision, scoring and state
+ * transitions. Advances by one fixed step per {@link #tick()}; has no
+ * notion of time or rendering. Its state can be copied to and from a
+ * buffer ({@link #saveState}) but where that goes is up to the caller.
+ */
+public class World {
+    /** Notified of game events, on the thread that calls {@link #tick()}. */
+    public interface Listener {
+        /** A run ended with a new best score. */
+        void onNewBestScore(int bestScore);
+
+        /** A coin centred at x, y was picked up. */
+        default void onCoinCollected(float x, float y) {}
+
+        /** The bird, centred at x, y, hit a pipe, the ceiling or the floor. */
+        default void onCrash(float x, float y) {}
+    }
+
+    public static final float PIPE_WIDTH_FACTOR = 5f;
+    public static final float PIPE_GAP_FACTOR   = 4f;
+    public static final float PIPE_SPACING      = 600f;
+    public static final float SPEED             = 8f;
+
+    private static final int SNAPSHOT_MAGIC = 0x4657534E;  // "FWSN"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int SNAPSHOT_FIXED = 93;
+    // far more than any screen holds; guards against a garbled count
+    private static final int SNAPSHOT_MAX_ENTITIES = 4096;
+    // values() clones on every call
+    private static final GameState[] STATES = GameState.values();
+    private static final BirdBody.Mood[] MOODS = BirdBody.Mood.values();
+
+    private final Rules rules;
+    private float width, height;
+    private final BirdBody bird;
+    private final PipeStore pipes;
+    private final CoinStore coins;
+    private final BroadPhase pipeWindow;
+    private final BroadPhase coinWindow;
+    private int score, bestScore, coinsCollected;
+    private GameState state;
+    private float spawnTimer = 0f;
+    private long tickCount = 0;   // ticks since construction, in every state
+    // RESTART button on the game-over modal, in screen pixels
+    private float btnLeft, btnTop, btnRight, btnBottom;
+    // gap placement; reseeded on every reset() so a run replays from its seed
+    private final Rng random = new Rng(0);
+    private final Rng seeds = new Rng(System.nanoTime());
+    private long seed;
+    private Listener listener;
+
+    public World(float width, float height, float birdWidth, float birdHeight) {
+        this(width, height, birdWidth, birdHeight, Rules.DEFAULT);
+    }
+
+    public World(float width, float height, float birdWidth, float birdHeight, Rules rules) {
+        this.rules = rules;
+        this.width = width;
+        this.height = height;
+        bird = new BirdBody(birdWidth, birdHeight, rules.gravity, rules.jumpVelocity);
+        // pairs that fit on screen at once, plus slack for the one being
+        // spawned and the one scrolling off
+        int pairs = (int) (width * (1 + 1 / PIPE_WIDTH_FACTOR) / rules.pipeSpacing) + 2;
+        pipes = new PipeStore(pairs * 2);
+        coins = new CoinStore(pairs);
+        pipeWindow = new BroadPhase(pipes);
+        coinWindow = new BroadPhase(coins);
+        reset();
+    }
+
+    public void setListener(Listener l) { listener = l; }
+    public void setBestScore(int best)  { bestScore = best; }
+
+    /** Updates the playfield size, e.g. once the surface is laid out. */
+    public void resize(float w, float h) {
+        width = w;
+        height = h;
+    }
+
+    /** Back to the START screen with a single pipe pair queued up. */
+    public void reset() {
+        reset(seeds.nextLong());
+    }
+
+    /** Like {@link #reset()}, with the next run's pipe gaps drawn from seed. */
+    public void reset(long seed) {
+        this.seed = seed;
+        random.setState(seed);
+        bird.reset(width * 0.2f, height * 0.5f);
+        pipeWindow.clear();
+        coinWindow.clear();
+        score      = 0;
+        coinsCollected = 0;
+        state      = GameState.START;
+        spawnTimer = 0f;
+
+        float pW  = width / PIPE_WIDTH_FACTOR;
+        float spawnX = width + pW*1.5f;
+        spawnPair(height * .5f, spawnX + pW/2f);
+    }
+
+    /** Appends a new pipe pair and its coin to the stores. */
+    private void spawnPair(float cY, float coinX) {
+        float gap = height / rules.pipeGapFactor;
+        float pW  = width / PIPE_WIDTH_FACTOR;
+        pipes.add(cY, pW, gap, true,  height, width);
+        pipes.add(cY, pW, gap, false, height, width);
+        coins.add(coinX, cY, pW*0.6f);
+    }
+
+    /** Where the game-over modal's RESTART button sits on screen. */
+    public void setRestartButton(float left, float top, float right, float bottom) {
+        btnLeft = left;
+        btnTop = top;
+        btnRight = right;
+        btnBottom = bottom;
+    }
+
+    /**
+     * A tap at screen position x, y: like {@link #tap()}, and on the
+     * game-over screen a restart if it hits the RESTART button.
+     */
+    public void tap(float x, float y) {
+        if (state == GameState.GAMEOVER) {
+            if (x >= btnLeft && x < btnRight && y >= btnTop && y < btnBottom) reset();
+        } else {
+            tap();
+        }
+    }
+
+    /** A tap anywhere: starts the run or flaps. */
+    public void tap() {
+        if (state == GameState.START) {
+            state = GameState.PLAYING;
+            pipeWindow.clear(); coinWindow.clear(); score = 0; coinsCollected = 0;
+        } else if (state == GameState.PLAYING) {
+            bird.jump();
+        }
+    }
+
+    public void tick() {
+        tickCount++;
+        if (state == GameState.FALLING) {
+            bird.update();
+            float floor = height - bird.getHeight();
+            if (bird.getY() >= floor) {
+                bird.setY(floor);
+                gameOver();
+            }
+            return;
+        }
+        if (state != GameState.PLAYING) return;
+
+        bird.update();
+        float speed = rules.speed;
+        spawnTimer += speed;
+        if (spawnTimer >= rules.pipeSpacing) {
+            spawnTimer -= rules.pipeSpacing;
+            float cY = height * (.3f + random.nextFloat() * .4f);
+            spawnPair(cY, width + width / PIPE_WIDTH_FACTOR / 2f);
+        }
+
+        pipes.update(speed);
+        coins.update(speed);
+        score += pipes.scorePassed(bird.getX());
+
+        // only what spans the bird's column can touch it
+        float minX = bird.getX(), maxX = bird.getX() + bird.getWidth();
+        pipeWindow.update(minX, maxX);
+        for (int i = pipeWindow.start(), end = pipeWindow.end(); i < end; i++) {
+            if (pipes.sweptCollidesWith(i, bird)) {
+                bird.die(); state = GameState.FALLING;
+                crashed();
+                break;
+            }
+        }
+        coinWindow.update(minX, maxX);
+        for (int i = coinWindow.start(), end = coinWindow.end(); i < end; i++) {
+            if (!coins.isCollected(i) && coins.sweptCollidesWith(i, bird)) {
+                score++; coinsCollected++; coins.collect(i);
+                if (listener != null) {
+                    float half = coins.getWidth(i) * 0.5f;
+                    listener.onCoinCollected(coins.getX(i) + half, coins.getY(i) + half);
+                }
+            }
+        }
+        // spawned in x order and moving together: expired ones are at the head
+        pipeWindow.expire(0);
+        coinWindow.expire(0);
+
+        if (bird.getY() < 0) {
+            bird.setY(0); bird.die();
+            // a pipe may have ended the run already this tick
+            if (state == GameState.PLAYING) crashed();
+            state = GameState.FALLING;
+        }
+        if (bird.getY() + bird.getHeight() > height) {
+            bird.setY(height - bird.getHeight());
+            if (state == GameState.PLAYING) crashed();
+            gameOver();
+        }
+    }
+
+    /** Upper bound on what {@link #saveState} writes right now. */
+    public int snapshotBytes() {
+        return SNAPSHOT_FIXED + (pipes.size() + coins.size()) * EntityStore.SAVED_BYTES;
+    }
+
+    /**
+     * Writes everything a run in progress needs to carry on exactly as if
+     * it had never stopped: bird, pipes, coins, score, spawn timer, gap
+     * generator and state. The listener, best score, restart button and
+     * rules are not included. Allocates nothing.
+     * <pre>
+     * "FWSN" u8 version, 3 reserved
+     * f32 width, height, birdWidth, birdHeight
+     * u8 state, 3 reserved
+     * i64 tickCount, seed, rngState
+     * i32 score, coinsCollected; f32 spawnTimer
+     * f32 bird x, y, prevY, v; i32 frameCount; u8 mood
+     * i32 pipeCount, coinCount
+     * per entity: f32 x, prevX, top, height, width; i32 frame; u8 flags
+     * </pre>
+     * Big-endian unless out says otherwise; restore with the same order.
+     *
+     * @throws java.nio.BufferOverflowException if out has less than
+     *         {@link #snapshotBytes()} remaining
+     */
+    public void saveState(ByteBuffer out) {
+        out.putInt(SNAPSHOT_MAGIC).put((byte) SNAPSHOT_VERSION).put((byte) 0).putShort((short) 0);
+        out.putFloat(width).putFloat(height).putFloat(bird.getWidth()).putFloat(bird.getHeight());
+        out.put((byte) state.ordinal()).put((byte) 0).putShort((short) 0);
+        out.putLong(tickCount).putLong(seed).putLong(random.getState());
+        out.putInt(score).putInt(coinsCollected).putFloat(spawnTimer);
+        bird.save(out);
+        out.putInt(pipes.size()).putInt(coins.size());
+        pipes.save(out);
+        coins.save(out);
+    }
+
+    /**
+     * Puts back a state written by {@link #saveState} for the same screen
+     * and bird size. Everything is checked before anything changes, so on
+     * an exception the world is as it was.
+     */
+    public void restoreState(ByteBuffer in) throws IOException {
+        if (in.remaining() < SNAPSHOT_FIXED) throw new IOException("snapshot truncated");
+        if (in.getInt() != SNAPSHOT_MAGIC) throw new IOException("not a world snapshot");
+        int version = in.get() & 0xFF;
+        if (version != SNAPSHOT_VERSION) throw new IOException("unsupported snapshot version " + version);
+        in.get();
+        in.getShort();
+        if (in.getFloat() != width || in.getFloat() != height
+                || in.getFloat() != bird.getWidth() || in.getFloat() != bird.getHeight()) {
+            throw new IOException("snapshot is for another screen or bird size");
+        }
+        int stateIndex = in.get() & 0xFF;
+        in.get();
+        in.getShort();
+        long ticks = in.getLong(), runSeed = in.getLong(), rngState = in.getLong();
+        int newScore = in.getInt(), newCoins = in.getInt();
+        float timer = in.getFloat();
+        float bx = in.getFloat(), by = in.getFloat(), bPrevY = in.getFloat(), bv = in.getFloat();
+        int birdFrame = in.getInt();
+        int moodIndex = in.get() & 0xFF;
+        int pipeCount = in.getInt(), coinCount = in.getInt();
+        if (stateIndex >= STATES.length) throw new IOException("bad state " + stateIndex);
+        if (moodIndex >= MOODS.length) throw new IOException("bad mood " + moodIndex);
+        if (pipeCount < 0 || pipeCount > SNAPSHOT_MAX_ENTITIES
+                || coinCount < 0 || coinCount > SNAPSHOT_MAX_ENTITIES) {
+            throw new IOException("bad entity counts " + pipeCount + ", " + coinCount);
+        }
+        if (in.remaining() < (pipeCount + coinCount) * EntityStore.SAVED_BYTES) {
+            throw new IOException("snapshot truncated");
+        }
+
+        state = STATES[stateIndex];
+        tickCount = ticks;
+        seed = runSeed;
+        random.setState(rngState);
+        score = newScore;
+        coinsCollected = newCoins;
+        spawnTimer = timer;
+        bird.restore(bx, by, bPrevY, bv, birdFrame, MOODS[moodIndex]);
+        // the windows find their place again on the next tick
+        pipeWindow.clear();
+        coinWindow.clear();
+        pipes.restore(in, pipeCount);
+        coins.restore(in, coinCount);
+    }
+
+    private void crashed() {
+        if (listener != null) {
+            listener.onCrash(bird.getX() + bird.getWidth() * 0.5f, bird.getY() + bird.getHeight() * 0.5f);
+        }
+    }
+
+    private void gameOver() {
+        if (score > bestScore) {
+            bestScore = score;
+            if (listener != null) listener.onNewBestScore(bestScore);
+        }
+        state = GameState.GAMEOVER;
+    }
+
+    public Rules getRules()     { return rules; }
+    public BirdBody getBird()   { return bird; }
+    public PipeStore getPipes() { return pipes; }
+    public CoinStore getCoins() { return coins; }
+    public int getScore()       { return score; }
+    public int getBestScore()   { return bestScore; }
+    /** Coins picked up this run; each is also a point of the score. */
+    public int getCoinsCollected() { return coinsCollected; }
+    public GameState getState() { return state; }
+    public float getWidth()     { return width; }
+    public float getHeight()    { return height; }
+    public long getTickCount()  { return tickCount; }
+    /** Seed the current run was started from. */
+    public long getSeed()       { return seed; }
+}
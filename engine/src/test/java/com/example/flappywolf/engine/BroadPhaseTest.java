@@ -0,0 +1,112 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BroadPhaseTest {
+    private static final float BIRD = 135;
+
+    @Test
+    public void window_followsColumnAndExpiry() {
+        CoinStore store = new CoinStore(8);
+        BroadPhase window = new BroadPhase(store);
+        // 100 px coins every 300 px, starting right of the column at 200..300
+        for (int i = 0; i < 5; i++) store.add(400 + i * 300, 500, 100);
+
+        window.update(200, 300);
+        assertEquals(window.start(), window.end());
+
+        for (int t = 0; t < 2000 && !store.isEmpty(); t++) {
+            store.update(10);
+            window.update(200, 300);
+            // the window is exactly what overlapped the column during the tick
+            for (int i = 0; i < store.size(); i++) {
+                boolean overlaps = store.getX(i) <= 300 && store.getPrevX(i) + store.getWidth(i) >= 200;
+                assertEquals("tick " + t + " coin " + i, overlaps,
+                        i >= window.start() && i < window.end());
+            }
+            int before = store.size(), start = window.start();
+            window.expire(0);
+            assertEquals(Math.max(0, start - (before - store.size())), window.start());
+        }
+        assertTrue(store.isEmpty());
+        assertEquals(0, window.start());
+        assertEquals(0, window.end());
+    }
+
+    @Test
+    public void clear_resetsCursors() {
+        CoinStore store = new CoinStore(4);
+        BroadPhase window = new BroadPhase(store);
+        store.add(0, 0, 10);
+        store.add(100, 0, 10);
+        window.update(50, 60);
+        assertEquals(1, window.start());
+        window.clear();
+        assertTrue(store.isEmpty());
+        store.add(55, 0, 10);
+        window.update(50, 60);
+        assertEquals(0, window.start());
+        assertEquals(1, window.end());
+    }
+
+    @Test
+    public void fastFall_cannotTunnelThroughThinPipe() {
+        // bottom pipe whose visible part is only 20 px tall, right under the bird
+        PipeBody pipe = new PipeBody(900, 200, 200, false, 1020, 50);
+        BirdBody bird = new BirdBody(BIRD, BIRD);
+        bird.reset(100, 800);
+        bird.setY(1100);  // one tick from above the head to below it
+        assertFalse(pipe.collidesWith(bird));
+        assertTrue(pipe.sweptCollidesWith(bird));
+    }
+
+    @Test
+    public void fastScroll_cannotTunnelPastBird() {
+        BirdBody bird = new BirdBody(BIRD, BIRD);
+        bird.reset(400 - BIRD / 2, 1500);
+        // bottom pipe jumps from right of the bird to left of it in one tick
+        PipeBody pipe = new PipeBody(1000, 200, 200, false, 1920, 700);
+        pipe.update(600);
+        assertFalse(pipe.collidesWith(bird));
+        assertTrue(pipe.sweptCollidesWith(bird));
+
+        CoinBody coin = new CoinBody(700, bird.getY() + BIRD / 2, 80);
+        coin.update(600);
+        assertFalse(coin.collidesWith(bird));
+        assertTrue(coin.sweptCollidesWith(bird));
+    }
+
+    @Test
+    public void sweep_missesWhenPathClearsPipe() {
+        BirdBody bird = new BirdBody(BIRD, BIRD);
+        // centred in a 400 px gap around y = 1000, falling 100 px
+        bird.reset(400 - BIRD / 2, 850 - BIRD / 2);
+        bird.setY(950 - BIRD / 2);
+        PipeBody top = new PipeBody(1000, 200, 400, true, 1920, 700);
+        PipeBody bottom = new PipeBody(1000, 200, 400, false, 1920, 700);
+        top.update(400);
+        bottom.update(400);
+        assertFalse(top.sweptCollidesWith(bird));
+        assertFalse(bottom.sweptCollidesWith(bird));
+
+        CoinBody coin = new CoinBody(700, 300, 80);
+        coin.update(400);
+        assertFalse(coin.sweptCollidesWith(bird));
+    }
+
+    @Test
+    public void sweep_agreesWithStaticTestWhenNothingMoves() {
+        BirdBody bird = new BirdBody(BIRD, BIRD);
+        PipeBody pipe = new PipeBody(1000, 200, 400, false, 1920, 300);
+        CoinBody coin = new CoinBody(300, 1000, 80);
+        for (float y = 0; y < 1920; y += 7) {
+            for (float x = 150; x < 550; x += 11) {
+                bird.reset(x, y);
+                assertEquals(pipe.collidesWith(bird), pipe.sweptCollidesWith(bird));
+                assertEquals(coin.collidesWith(bird), coin.sweptCollidesWith(bird));
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.flappywolf.engine;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+
+/**
+ * Regenerates the replay corpus in src/test/resources/recordings from the
+ * steering bot. Only needed after a deliberate change to the game rules;
+ * real sessions saved by the app can be dropped in alongside (and listed
+ * in index.txt) as they are.
+ *
+ * <pre>java ... com.example.flappywolf.engine.CorpusGenerator engine/src/test/resources/recordings</pre>
+ */
+public final class CorpusGenerator {
+    // seed, width, height, bird size, ticks to steer before letting go
+    private static final Object[][] SESSIONS = {
+            { 1L, 1080f, 1920f, 135f, 600 },
+            { 2L, 1080f, 1920f, 135f, 5_000 },
+            { 3L, 1080f, 2400f, 135f, 20_000 },
+            { 4L, 720f, 1280f, 90f, 10_000 },
+            { 5L, 1440f, 2560f, 180f, 30_000 },
+            { 6L, 2880f, 1440f, 120f, 50_000 },
+    };
+
+    public static void main(String[] args) throws IOException {
+        File dir = new File(args[0]);
+        if (!dir.isDirectory() && !dir.mkdirs()) throw new IOException("cannot create " + dir);
+        try (PrintWriter index = new PrintWriter(new File(dir, "index.txt"), "UTF-8")) {
+            for (Object[] s : SESSIONS) {
+                Recording rec = record((Long) s[0], (Float) s[1], (Float) s[2], (Float) s[3], (Integer) s[4]);
+                String name = "bot-" + s[0] + ".fwr";
+                try (OutputStream out = new FileOutputStream(new File(dir, name))) {
+                    rec.write(out);
+                }
+                index.println(name);
+                System.out.println(name + ": " + rec);
+            }
+        }
+    }
+
+    /** Plays one run with the steering bot until steerTicks, then lets the bird drop. */
+    static Recording record(long seed, float width, float height, float bird, int steerTicks) {
+        World world = new World(width, height, bird, bird);
+        SessionRecorder recorder = new SessionRecorder();
+        world.reset(seed);
+        recorder.beforeTap(world);
+        world.tap();
+        for (int t = 0; ; t++) {
+            if (t < steerTicks && WorldTest.wantsFlap(world)) {
+                recorder.beforeTap(world);
+                world.tap();
+            }
+            world.tick();
+            Recording rec = recorder.afterTick(world);
+            if (rec != null) return rec;
+        }
+    }
+}
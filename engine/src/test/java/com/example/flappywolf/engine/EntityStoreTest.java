@@ -0,0 +1,109 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class EntityStoreTest {
+
+    @Test
+    public void update_scrollsAndExpiresInOrder() {
+        EntityStore store = new EntityStore(4);
+        for (int i = 0; i < 3; i++) store.add(i * 100, 0, 10, 50, 0);
+        store.update(60);
+        assertEquals(-60, store.getX(0), 0f);
+        assertEquals(0, store.getPrevX(0), 0f);
+        assertEquals(1, store.getFrame(2));
+        // -60 + 50 < 0 is gone, 40 + 50 is not
+        assertEquals(1, store.expire(0));
+        assertEquals(2, store.size());
+        assertEquals(40, store.getX(0), 0f);
+        assertEquals(140, store.getX(1), 0f);
+    }
+
+    @Test
+    public void compaction_keepsOrderWithoutGrowing() {
+        EntityStore store = new EntityStore(4);
+        int next = 0, expected = 0;
+        for (int round = 0; round < 50; round++) {
+            while (store.size() < 3) store.add(next++, 0, 0, 0, 0);
+            for (int i = 0; i < store.size(); i++) assertEquals(expected + i, store.getX(i), 0f);
+            // drop the oldest: only it has x + width < expected + 1
+            assertEquals(1, store.expire(expected + 1));
+            expected++;
+        }
+        assertEquals(4, store.capacity());
+        assertEquals(0, store.growths());
+    }
+
+    @Test
+    public void grow_keepsOrderAndFlags() {
+        EntityStore store = new EntityStore(2);
+        store.add(0, 0, 0, 1, 0);
+        store.add(1, 0, 0, 1, EntityStore.IS_TOP);
+        store.expire(1.5f);
+        for (int v = 2; v < 6; v++) store.add(v, 0, 0, 1, v % 2 == 1 ? EntityStore.IS_TOP : 0);
+        assertEquals(5, store.size());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(i + 1, store.getX(i), 0f);
+            assertEquals(i % 2 == 0, store.hasFlag(i, EntityStore.IS_TOP));
+        }
+        assertEquals(8, store.capacity());
+        assertEquals(2, store.growths());
+    }
+
+    @Test
+    public void pipeStore_matchesPipeBody() {
+        PipeStore store = new PipeStore(2);
+        BirdBody bird = new BirdBody(135, 135);
+        bird.reset(200, 700);
+        for (boolean isTop : new boolean[] {true, false}) {
+            PipeBody body = new PipeBody(900, 200, 400, isTop, 1920, 330);
+            int i = store.add(900, 200, 400, isTop, 1920, 330);
+            for (int t = 0; t < 40; t++) {
+                body.update(8);
+                store.update(8);
+                bird.update();
+                assertEquals(body.getX(), store.getX(i), 0f);
+                assertEquals(body.getTop(), store.getTop(i), 0f);
+                assertEquals(body.getTotalHeight(), store.getTotalHeight(i), 0f);
+                assertEquals(body.isTop(), store.isTop(i));
+                assertEquals(body.collidesWith(bird), store.collidesWith(i, bird));
+                assertEquals(body.sweptCollidesWith(bird), store.sweptCollidesWith(i, bird));
+            }
+        }
+    }
+
+    @Test
+    public void coinStore_animatesLikeCoinBody() {
+        CoinStore store = new CoinStore(1);
+        CoinBody body = new CoinBody(500, 300, 80);
+        store.add(500, 300, 80);
+        for (int t = 0; t < 5 * CoinBody.DELAY; t++) {
+            body.update(8);
+            store.update(8);
+            assertEquals(body.showsFront(), store.showsFront(0));
+            assertEquals(body.getY(), store.getY(0), 0f);
+        }
+        store.collect(0);
+        assertTrue(store.isCollected(0));
+    }
+
+    @Test
+    public void longSession_allocatesNoEntitiesAfterWarmUp() {
+        World world = new World(1080, 1920, 135, 135);
+        int pipeGrowths = 0, coinGrowths = 0;
+        for (int tick = 0; tick < 100_000; tick++) {
+            if (tick == 5_000) {
+                pipeGrowths = world.getPipes().growths();
+                coinGrowths = world.getCoins().growths();
+            }
+            if (world.getState() == GameState.GAMEOVER) world.reset();
+            if (world.getState() == GameState.START) world.tap();
+            WorldTest.steer(world);
+            world.tick();
+        }
+        assertEquals(pipeGrowths, world.getPipes().growths());
+        assertEquals(coinGrowths, world.getCoins().growths());
+    }
+}
@@ -0,0 +1,110 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GhostTest {
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    /** Bird positions of one bot run, tick by tick until game over. */
+    private static List<float[]> play(long seed, GhostWriter writer, int steerTicks) {
+        World world = new World(1080, 1920, 135, 135);
+        world.reset(seed);
+        world.tap();
+        writer.begin();
+        List<float[]> track = new ArrayList<>();
+        for (int t = 0; world.getState() != GameState.GAMEOVER; t++) {
+            if (t < steerTicks) WorldTest.steer(world);
+            world.tick();
+            BirdBody b = world.getBird();
+            writer.append(b);
+            track.add(new float[] { b.getY(), b.getV(), b.getMood().ordinal() });
+        }
+        return track;
+    }
+
+    private File save(GhostWriter w, int length) throws IOException {
+        File f = tmp.newFile();
+        try (FileOutputStream out = new FileOutputStream(f)) {
+            out.write(w.toByteArray(), 0, length);
+        }
+        return f;
+    }
+
+    @Test
+    public void mappedPlayback_followsRecordedRun() throws IOException {
+        GhostWriter writer = new GhostWriter(256);
+        List<float[]> track = play(3, writer, 3000);
+        GhostReader ghost = GhostReader.open(save(writer, writer.size()));
+        assertFalse(ghost.isActive());
+        boolean sawHappy = false, sawHurt = false;
+        for (float[] expected : track) {
+            assertTrue(ghost.advance());
+            assertEquals(expected[0], ghost.getY(), 0.5f / GhostWriter.SCALE);
+            assertEquals(expected[1], ghost.getV(), 0.5f / GhostWriter.SCALE);
+            assertEquals((int) expected[2], ghost.getMood().ordinal());
+            sawHappy |= ghost.getMood() == BirdBody.Mood.HAPPY;
+            sawHurt |= ghost.getMood() == BirdBody.Mood.HURT;
+        }
+        assertTrue(sawHappy && sawHurt);
+        assertFalse(ghost.advance());
+        assertFalse(ghost.isActive());
+        assertEquals(track.size(), ghost.getTick());
+
+        ghost.rewind();
+        assertTrue(ghost.advance());
+        assertEquals(track.get(0)[0], ghost.getY(), 0.5f / GhostWriter.SCALE);
+    }
+
+    @Test
+    public void truncatedFile_playsWholeRecords() throws IOException {
+        GhostWriter writer = new GhostWriter(256);
+        play(4, writer, 500);
+        byte[] whole = writer.toByteArray();
+        int full = 0;
+        for (GhostReader g = new GhostReader(ByteBuffer.wrap(whole)); g.advance(); ) full++;
+
+        GhostReader cut = new GhostReader(ByteBuffer.wrap(Arrays.copyOf(whole, whole.length - 1)));
+        int n = 0;
+        while (cut.advance()) n++;
+        assertEquals(full - 1, n);
+        // stuck at the cut, not past it
+        assertFalse(cut.advance());
+        assertEquals(full - 1, cut.getTick());
+    }
+
+    @Test
+    public void underTwelveKilobytesPerMinute() {
+        GhostWriter writer = new GhostWriter(256);
+        List<float[]> track = play(5, writer, Integer.MAX_VALUE / 2);
+        assertTrue(track.size() > 500);
+        double perMinute = (writer.size() - GhostWriter.HEADER) * 3600.0 / track.size();
+        assertTrue(perMinute + " bytes/min", perMinute < 12 * 1024);
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsOtherFiles() throws IOException {
+        new GhostReader(ByteBuffer.wrap(new byte[] { 'F', 'W', 'R', 'C', 1 }));
+    }
+
+    @Test
+    public void zigzag_roundTrips() {
+        for (int v : new int[] { 0, 1, -1, 63, -64, 1 << 20, -(1 << 20), Integer.MAX_VALUE, Integer.MIN_VALUE }) {
+            assertEquals(v, GhostWriter.unzigzag(GhostWriter.zigzag(v)));
+        }
+        assertEquals(1, GhostWriter.zigzag(-1));
+        assertEquals(2, GhostWriter.zigzag(1));
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class InputQueueTest {
+
+    @Test
+    public void drainsInOrder() {
+        InputQueue q = new InputQueue(4);
+        assertTrue(q.isEmpty());
+        q.offer(10, 1, 2);
+        q.offer(20, 3, 4);
+        assertEquals(10, q.peekTime());
+        assertEquals(1, q.peekX(), 0f);
+        assertEquals(2, q.peekY(), 0f);
+        q.remove();
+        assertEquals(20, q.peekTime());
+        assertEquals(3, q.peekX(), 0f);
+        q.remove();
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void full_dropsNewEvents() {
+        InputQueue q = new InputQueue(3);
+        assertEquals(4, q.capacity());
+        for (int i = 0; i < 4; i++) assertTrue(q.offer(i, 0, 0));
+        assertFalse(q.offer(99, 0, 0));
+        q.remove();
+        assertTrue(q.offer(4, 0, 0));
+        for (int i = 1; i <= 4; i++) {
+            assertEquals(i, q.peekTime());
+            q.remove();
+        }
+        assertTrue(q.isEmpty());
+    }
+
+    @Test
+    public void clear_dropsEverything() {
+        InputQueue q = new InputQueue(8);
+        q.offer(1, 0, 0);
+        q.offer(2, 0, 0);
+        q.clear();
+        assertTrue(q.isEmpty());
+        q.offer(3, 0, 0);
+        assertEquals(3, q.peekTime());
+    }
+
+    @Test
+    public void concurrentProducer_deliversEveryEventOnce() throws Exception {
+        final int n = 500_000;
+        InputQueue q = new InputQueue(64);
+        Thread producer = new Thread(() -> {
+            for (int seq = 1; seq <= n; seq++) {
+                while (!q.offer(seq, seq, -seq)) Thread.yield();
+            }
+        });
+        AtomicReference<String> failure = new AtomicReference<>();
+        producer.start();
+        long expected = 1;
+        while (expected <= n && failure.get() == null) {
+            if (q.isEmpty()) {
+                Thread.yield();
+                continue;
+            }
+            long t = q.peekTime();
+            if (t != expected || q.peekX() != t || q.peekY() != -t) {
+                failure.set("expected " + expected + " got " + t + " " + q.peekX() + " " + q.peekY());
+            }
+            q.remove();
+            expected++;
+        }
+        producer.join();
+        assertNull(failure.get());
+        assertTrue(q.isEmpty());
+    }
+}
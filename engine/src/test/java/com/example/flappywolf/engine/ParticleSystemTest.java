@@ -0,0 +1,67 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ParticleSystemTest {
+
+    @Test
+    public void update_integratesAndExpires() {
+        ParticleSystem ps = new ParticleSystem(8);
+        ps.spawn(ParticleSystem.FEATHER, 100, 200, 2, -4, 1, 3);
+        ps.update();
+        assertEquals(102, ps.getX(0), 0f);
+        assertEquals(197, ps.getY(0), 0f);  // vy -4 + 1
+        assertEquals(100, ps.getPrevX(0), 0f);
+        assertEquals(2 / 3f, ps.getLifeLeft(0), 1e-6f);
+        ps.update();
+        ps.update();
+        assertEquals(0, ps.size());
+    }
+
+    @Test
+    public void swapRemove_keepsEverySurvivor() {
+        ParticleSystem ps = new ParticleSystem(16);
+        // x doubles as an id; even ids die after one tick
+        for (int id = 0; id < 10; id++) ps.spawn(ParticleSystem.SPARKLE, id, 0, 0, 0, 0, id % 2 == 0 ? 1 : 5);
+        ps.update();
+        assertEquals(5, ps.size());
+        boolean[] seen = new boolean[10];
+        for (int i = 0; i < ps.size(); i++) seen[(int) ps.getX(i)] = true;
+        for (int id = 0; id < 10; id++) assertEquals("id " + id, id % 2 == 1, seen[id]);
+    }
+
+    @Test
+    public void full_dropsAndCounts() {
+        ParticleSystem ps = new ParticleSystem(30);
+        ps.burst(ParticleSystem.SPARKLE, 24, 0, 0, 5, 0, 0, 30);
+        ps.burst(ParticleSystem.SPARKLE, 24, 0, 0, 5, 0, 0, 30);
+        assertEquals(30, ps.size());
+        assertEquals(18, ps.dropped());
+    }
+
+    @Test
+    public void bursts_doNotDisturbGameplay() {
+        Recording rec = CorpusGenerator.record(7, 1080, 1920, 135, 3000);
+        World world = new World(rec.width, rec.height, rec.birdWidth, rec.birdHeight);
+        ParticleSystem ps = new ParticleSystem(256);
+        final int[] events = new int[2];
+        world.setListener(new World.Listener() {
+            @Override public void onNewBestScore(int bestScore) {}
+            @Override public void onCoinCollected(float x, float y) {
+                events[0]++;
+                ps.burst(ParticleSystem.SPARKLE, 24, x, y, 8, -8, 0, 30);
+            }
+            @Override public void onCrash(float x, float y) {
+                events[1]++;
+                ps.burst(ParticleSystem.FEATHER, 40, x, y, 12, 0, 0.3f, 90);
+            }
+        });
+        Replayer.run(rec, world);
+        assertEquals(rec.score, world.getScore());
+        assertEquals(rec.endState, world.getState());
+        assertTrue("coins " + events[0], events[0] > 0);
+        assertEquals(1, events[1]);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ReplayTest {
+
+    /** The recorded sessions listed in recordings/index.txt. */
+    static List<Recording> loadCorpus() throws IOException {
+        List<Recording> corpus = new ArrayList<>();
+        ClassLoader cl = ReplayTest.class.getClassLoader();
+        InputStream idx = cl.getResourceAsStream("recordings/index.txt");
+        assertNotNull("missing recordings/index.txt", idx);
+        try (BufferedReader r = new BufferedReader(new InputStreamReader(idx, "UTF-8"))) {
+            for (String name; (name = r.readLine()) != null; ) {
+                if (name.trim().isEmpty()) continue;
+                try (InputStream in = cl.getResourceAsStream("recordings/" + name.trim())) {
+                    assertNotNull(name, in);
+                    corpus.add(Recording.read(in));
+                }
+            }
+        }
+        return corpus;
+    }
+
+    @Test
+    public void sameSeed_sameGaps() {
+        World a = new World(1080, 1920, 135, 135);
+        World b = new World(1080, 1920, 135, 135);
+        a.reset(42);
+        b.reset(42);
+        a.tap();
+        b.tap();
+        for (int i = 0; i < 2000; i++) {
+            WorldTest.steer(a);
+            WorldTest.steer(b);
+            a.tick();
+            b.tick();
+        }
+        assertEquals(a.getPipes().size(), b.getPipes().size());
+        for (int i = 0; i < a.getPipes().size(); i++) {
+            assertEquals(a.getPipes().getTop(i), b.getPipes().getTop(i), 0f);
+        }
+        assertEquals(a.getScore(), b.getScore());
+    }
+
+    @Test
+    public void recording_roundTrips() throws IOException {
+        Recording rec = CorpusGenerator.record(7, 1080, 1920, 135, 3000);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        rec.write(bytes);
+        Recording back = Recording.read(new ByteArrayInputStream(bytes.toByteArray()));
+        assertEquals(rec, back);
+        // header plus roughly a byte per tap
+        assertTrue(bytes.size() + " bytes", bytes.size() < 48 + rec.getTapCount() * 2);
+    }
+
+    @Test(expected = IOException.class)
+    public void read_rejectsGarbage() throws IOException {
+        Recording.read(new ByteArrayInputStream(new byte[] { 1, 2, 3, 4, 5 }));
+    }
+
+    @Test
+    public void replay_reproducesLiveRun() {
+        for (long seed = 100; seed < 110; seed++) {
+            Recording rec = CorpusGenerator.record(seed, 1080, 1920, 135, (int) (seed % 7) * 500);
+            assertEquals(GameState.GAMEOVER, rec.endState);
+            assertNull(Replayer.verify(rec));
+        }
+    }
+
+    @Test
+    public void replay_detectsDivergence() {
+        Recording rec = CorpusGenerator.record(11, 1080, 1920, 135, 3000);
+        assertTrue(rec.score > 0);
+        Recording other = new Recording(rec.seed + 1, rec.width, rec.height,
+                rec.birdWidth, rec.birdHeight, taps(rec), rec.endTick, rec.score, rec.endState);
+        assertNotNull(Replayer.verify(other));
+    }
+
+    /**
+     * The CI oracle: every recorded session must still replay to the score
+     * and state it ended with.
+     */
+    @Test
+    public void corpus_replaysToRecordedOutcome() throws IOException {
+        List<Recording> corpus = loadCorpus();
+        assertFalse(corpus.isEmpty());
+        for (Recording rec : corpus) {
+            assertNull(rec.toString(), Replayer.verify(rec));
+        }
+    }
+
+    private static int[] taps(Recording rec) {
+        int[] t = new int[rec.getTapCount()];
+        for (int i = 0; i < t.length; i++) t[i] = rec.getTap(i);
+        return t;
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import static org.junit.Assert.*;
+
+public class RunHistoryTest {
+    @Rule
+    public TemporaryFolder tmp = new TemporaryFolder();
+
+    private static void appendRuns(RunHistory h, int from, int to) {
+        // scores wander so the top list is not just the latest runs
+        for (int i = from; i < to; i++) h.append((i * 37) % 101, i % 7, i * 10, i * 3, i, 1000L + i);
+    }
+
+    @Test
+    public void emptyDir_hasNoRuns() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        assertEquals(0, h.getRuns());
+        assertEquals(0, h.getBestScore());
+        assertEquals(0, h.getTopCount());
+        h.close();
+    }
+
+    @Test
+    public void topList_bestFirst_tiesKeepEarlierRun() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 3);
+        h.append(5, 0, 0, 0, 1, 0);
+        h.append(9, 0, 0, 0, 2, 0);
+        h.append(5, 0, 0, 0, 3, 0);
+        h.append(1, 0, 0, 0, 4, 0);
+        h.append(7, 0, 0, 0, 5, 0);
+        assertEquals(3, h.getTopCount());
+        assertEquals(9, h.getTopScore(0));
+        assertEquals(7, h.getTopScore(1));
+        assertEquals(5, h.getTopScore(2));
+        assertEquals(1, h.getTopSeed(2));
+        assertEquals(5, h.getRuns());
+        h.close();
+    }
+
+    @Test
+    public void reopen_restoresIndexFromSummary() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        appendRuns(h, 0, 500);
+        h.close();
+
+        RunHistory again = RunHistory.open(tmp.getRoot(), 5);
+        RunHistory full = RunHistory.rebuild(tmp.getRoot(), 5);
+        assertEquals(500, again.getRuns());
+        assertEquals(full.getTotalTicks(), again.getTotalTicks());
+        assertEquals(full.getTotalCoins(), again.getTotalCoins());
+        assertEquals(full.getTotalDurationMs(), again.getTotalDurationMs());
+        assertEquals(100, again.getBestScore());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(full.getTopScore(i), again.getTopScore(i));
+            assertEquals(full.getTopSeed(i), again.getTopSeed(i));
+            assertEquals(full.getTopTimestamp(i), again.getTopTimestamp(i));
+        }
+        assertEquals(RunHistory.LOG_HEADER + 500 * RunHistory.RECORD_BYTES,
+                new File(tmp.getRoot(), "runs.log").length());
+        again.close();
+    }
+
+    @Test
+    public void staleSummary_catchesUpFromLogTail() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        appendRuns(h, 0, 10);
+        h.flush();
+        File summary = new File(tmp.getRoot(), "runs.summary");
+        File stale = tmp.newFile("stale");
+        copy(summary, stale);
+        appendRuns(h, 10, 20);
+        h.close();
+        // as if the app died between the log write and the summary rename
+        copy(stale, summary);
+
+        RunHistory again = RunHistory.open(tmp.getRoot(), 5);
+        assertEquals(20, again.getRuns());
+        assertEquals(RunHistory.rebuild(tmp.getRoot(), 5).getTotalTicks(), again.getTotalTicks());
+        again.close();
+    }
+
+    @Test
+    public void corruptSummary_fallsBackToFullScan() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        appendRuns(h, 0, 30);
+        h.close();
+        try (RandomAccessFile f = new RandomAccessFile(new File(tmp.getRoot(), "runs.summary"), "rw")) {
+            f.writeInt(0);
+        }
+        RunHistory again = RunHistory.open(tmp.getRoot(), 5);
+        assertEquals(30, again.getRuns());
+        assertEquals(RunHistory.rebuild(tmp.getRoot(), 5).getBestScore(), again.getBestScore());
+        again.close();
+    }
+
+    @Test
+    public void tornRecord_isIgnoredAndOverwritten() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        appendRuns(h, 0, 3);
+        h.close();
+        File log = new File(tmp.getRoot(), "runs.log");
+        try (RandomAccessFile f = new RandomAccessFile(log, "rw")) {
+            f.seek(f.length());
+            f.write(new byte[RunHistory.RECORD_BYTES / 2]);
+        }
+        new File(tmp.getRoot(), "runs.summary").delete();
+
+        RunHistory again = RunHistory.open(tmp.getRoot(), 5);
+        assertEquals(3, again.getRuns());
+        again.append(200, 0, 0, 0, 99, 0);
+        again.close();
+        assertEquals(RunHistory.LOG_HEADER + 4 * RunHistory.RECORD_BYTES, log.length());
+        assertEquals(200, RunHistory.rebuild(tmp.getRoot(), 5).getBestScore());
+    }
+
+    @Test
+    public void append_queuesWithoutWriting() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        h.append(3, 1, 2, 4, 5, 6);
+        // the writer lingers before writing, so nothing is on disk yet
+        assertEquals(0, new File(tmp.getRoot(), "runs.log").length());
+        assertEquals(3, h.getBestScore());
+        h.flush();
+        assertEquals(RunHistory.LOG_HEADER + RunHistory.RECORD_BYTES,
+                new File(tmp.getRoot(), "runs.log").length());
+        h.close();
+    }
+
+    @Test
+    public void fullQueue_dropsInsteadOfBlocking() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5, 4);
+        appendRuns(h, 0, 10);
+        assertTrue("dropped " + h.dropped(), h.dropped() > 0);
+        long kept = h.getRuns();
+        assertEquals(10, kept + h.dropped());
+        h.close();
+        assertEquals(kept, RunHistory.open(tmp.getRoot(), 5).getRuns());
+    }
+
+    @Test
+    public void failedWrite_isReportedAndRetriedByTheNextAppend() throws IOException {
+        RunHistory h = RunHistory.open(tmp.getRoot(), 5);
+        // a directory where the log should be makes every write fail
+        File log = new File(tmp.getRoot(), "runs.log");
+        assertTrue(log.mkdir());
+        h.append(4, 0, 0, 0, 1, 0);
+        try {
+            h.flush();
+            fail("flushed into a directory");
+        } catch (IOException expected) {
+        }
+        assertNotNull(h.takeFailure());
+        assertNull(h.takeFailure());
+
+        assertTrue(log.delete());
+        h.append(8, 0, 0, 0, 2, 0);
+        h.close();
+        assertEquals(0, h.dropped());
+        assertEquals(RunHistory.LOG_HEADER + 2 * RunHistory.RECORD_BYTES, log.length());
+        RunHistory again = RunHistory.open(tmp.getRoot(), 5);
+        assertEquals(2, again.getRuns());
+        assertEquals(8, again.getBestScore());
+        assertEquals(4, again.getTopScore(1));
+        again.close();
+    }
+
+    private static void copy(File from, File to) throws IOException {
+        Files.copy(from.toPath(), to.toPath(), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
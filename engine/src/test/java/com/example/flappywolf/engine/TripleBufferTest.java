@@ -0,0 +1,85 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+public class TripleBufferTest {
+
+    @Test
+    public void latest_returnsNewestPublished() {
+        TripleBuffer<long[]> buf = new TripleBuffer<>(() -> new long[1]);
+        buf.back()[0] = 1;
+        buf.publish();
+        buf.back()[0] = 2;
+        buf.publish();
+        assertEquals(2, buf.latest()[0]);
+        // nothing new: same slot again
+        assertEquals(2, buf.latest()[0]);
+        buf.back()[0] = 3;
+        buf.publish();
+        assertEquals(3, buf.latest()[0]);
+    }
+
+    @Test
+    public void slotsNeverShared() {
+        TripleBuffer<long[]> buf = new TripleBuffer<>(() -> new long[1]);
+        for (int i = 0; i < 100; i++) {
+            long[] front = buf.latest();
+            assertNotSame(front, buf.back());
+            if (i % 3 != 0) buf.publish();
+        }
+    }
+
+    @Test
+    public void concurrentReader_seesWholeMonotonicSnapshots() throws Exception {
+        final int n = 2_000_000;
+        TripleBuffer<long[]> buf = new TripleBuffer<>(() -> new long[8]);
+        AtomicReference<String> failure = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            for (long seq = 1; seq <= n; seq++) {
+                long[] slot = buf.back();
+                for (int i = 0; i < slot.length; i++) slot[i] = seq;
+                buf.publish();
+            }
+        });
+        producer.start();
+        long last = 0;
+        while (last < n && failure.get() == null) {
+            long[] slot = buf.latest();
+            long seq = slot[0];
+            for (long v : slot) {
+                if (v != seq) failure.set("torn snapshot " + java.util.Arrays.toString(slot));
+            }
+            if (seq < last) failure.set("went back from " + last + " to " + seq);
+            last = seq;
+        }
+        producer.join();
+        assertNull(failure.get());
+        assertEquals(n, buf.latest()[0]);
+    }
+
+    @Test
+    public void snapshot_capturesVisibleWorld() {
+        World world = new World(1080, 1920, 135, 135);
+        RenderSnapshot snap = new RenderSnapshot();
+        assertFalse(snap.valid);
+        world.tap();
+        for (int i = 0; i < 200; i++) {
+            WorldTest.steer(world);
+            world.tick();
+        }
+        snap.capture(world);
+        assertTrue(snap.valid);
+        assertEquals(world.getTickCount(), snap.tick);
+        assertEquals(world.getState(), snap.state);
+        assertEquals(world.getPipes().size(), snap.pipeCount);
+        for (int i = 0; i < snap.pipeCount; i++) {
+            assertEquals(world.getPipes().getX(i), snap.pipeX[i], 0f);
+            assertEquals(world.getPipes().isTop(i), snap.pipeIsTop[i]);
+        }
+        assertEquals(world.getBird().getY(), snap.birdY, 0f);
+    }
+}
@@ -0,0 +1,135 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.junit.Assert.*;
+
+public class WorldSnapshotTest {
+    private static final float W = 1080, H = 1920, BIRD = 135;
+
+    private static World playing(long seed, int ticks) {
+        World world = new World(W, H, BIRD, BIRD);
+        world.reset(seed);
+        world.tap();
+        for (int i = 0; i < ticks && world.getState() == GameState.PLAYING; i++) {
+            WorldTest.steer(world);
+            world.tick();
+        }
+        return world;
+    }
+
+    private static ByteBuffer save(World world) {
+        ByteBuffer buf = ByteBuffer.allocate(world.snapshotBytes());
+        world.saveState(buf);
+        assertFalse("snapshotBytes() is exact", buf.hasRemaining());
+        buf.flip();
+        return buf;
+    }
+
+    private static void assertSameWorld(World a, World b) {
+        assertEquals(a.getState(), b.getState());
+        assertEquals(a.getScore(), b.getScore());
+        assertEquals(a.getCoinsCollected(), b.getCoinsCollected());
+        assertEquals(a.getTickCount(), b.getTickCount());
+        assertEquals(a.getSeed(), b.getSeed());
+        assertEquals(a.getBird().getY(), b.getBird().getY(), 0f);
+        assertEquals(a.getBird().getV(), b.getBird().getV(), 0f);
+        assertEquals(a.getBird().getMood(), b.getBird().getMood());
+        assertEquals(a.getPipes().size(), b.getPipes().size());
+        for (int i = 0; i < a.getPipes().size(); i++) {
+            assertEquals(a.getPipes().getX(i), b.getPipes().getX(i), 0f);
+            assertEquals(a.getPipes().getTop(i), b.getPipes().getTop(i), 0f);
+            assertEquals(a.getPipes().isScored(i), b.getPipes().isScored(i));
+        }
+        assertEquals(a.getCoins().size(), b.getCoins().size());
+        for (int i = 0; i < a.getCoins().size(); i++) {
+            assertEquals(a.getCoins().getX(i), b.getCoins().getX(i), 0f);
+            assertEquals(a.getCoins().isCollected(i), b.getCoins().isCollected(i));
+            assertEquals(a.getCoins().getFrame(i), b.getCoins().getFrame(i));
+        }
+    }
+
+    @Test
+    public void restoredRun_carriesOnExactlyLikeTheOriginal() throws IOException {
+        // the bot is not perfect; take the first seed it is still flying at
+        World original = null;
+        for (long seed = 1; original == null || original.getState() != GameState.PLAYING; seed++) {
+            original = playing(seed, 1500);
+        }
+        World restored = new World(W, H, BIRD, BIRD);
+        restored.restoreState(save(original));
+        assertSameWorld(original, restored);
+
+        // new gaps come from the restored generator, collisions from fresh windows
+        for (int i = 0; i < 5000 && original.getState() != GameState.GAMEOVER; i++) {
+            boolean flap = WorldTest.wantsFlap(original);
+            assertEquals(flap, WorldTest.wantsFlap(restored));
+            if (flap) {
+                original.tap();
+                restored.tap();
+            }
+            original.tick();
+            restored.tick();
+        }
+        assertSameWorld(original, restored);
+    }
+
+    @Test
+    public void saveOfRestored_isByteIdentical() throws IOException {
+        ByteBuffer first = save(playing(3, 800));
+        World restored = new World(W, H, BIRD, BIRD);
+        restored.restoreState(first.duplicate());
+        assertEquals(first, save(restored));
+    }
+
+    @Test
+    public void otherScreenSize_isRejectedAndWorldUntouched() {
+        ByteBuffer snap = save(playing(5, 600));
+        World other = new World(W, H - 100, BIRD, BIRD);
+        ByteBuffer before = save(other);
+        try {
+            other.restoreState(snap);
+            fail("restored a snapshot for another screen");
+        } catch (IOException expected) {
+            assertEquals(before, save(other));
+        }
+    }
+
+    @Test
+    public void truncatedOrGarbled_isRejectedAndWorldUntouched() {
+        ByteBuffer snap = save(playing(5, 600));
+        World world = new World(W, H, BIRD, BIRD);
+        ByteBuffer before = save(world);
+
+        ByteBuffer cut = snap.duplicate();
+        cut.limit(cut.limit() - 1);
+        ByteBuffer garbled = ByteBuffer.allocate(snap.remaining()).put(snap.duplicate());
+        garbled.put(0, (byte) 'X').flip();
+        for (ByteBuffer bad : new ByteBuffer[] {cut, garbled, ByteBuffer.allocate(8)}) {
+            try {
+                world.restoreState(bad);
+                fail("restored a bad snapshot");
+            } catch (IOException expected) {
+                assertEquals(before, save(world));
+            }
+        }
+    }
+
+    @Test
+    public void roundTrip_intoReusedBuffer_matches() throws IOException {
+        // the timing lives in WorldSnapshotBenchmark; this checks the reuse pattern it measures
+        World world = playing(9, 1200);
+        World target = new World(W, H, BIRD, BIRD);
+        ByteBuffer buf = ByteBuffer.allocateDirect(world.snapshotBytes());
+        for (int i = 0; i < 3; i++) {
+            buf.clear();
+            world.saveState(buf);
+            buf.flip();
+            target.restoreState(buf);
+            assertSameWorld(world, target);
+        }
+    }
+}
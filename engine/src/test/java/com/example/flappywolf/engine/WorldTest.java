@@ -0,0 +1,133 @@
+package com.example.flappywolf.engine;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class WorldTest {
+    private static final float W = 1080, H = 1920, BIRD = 135;
+
+    /** Flaps whenever the bird sinks below the centre of the next gap. */
+    static void steer(World world) {
+        if (wantsFlap(world)) world.tap();
+    }
+
+    static boolean wantsFlap(World world) {
+        BirdBody b = world.getBird();
+        float target = world.getHeight() * 0.5f;
+        for (int i = 0; i < world.getPipes().size(); i++) {
+            PipeStore p = world.getPipes();
+            if (!p.isTop(i) && p.getX(i) + p.getWidth(i) > b.getX()) {
+                target = p.getTop(i) - world.getHeight() / World.PIPE_GAP_FACTOR * 0.5f;
+                break;
+            }
+        }
+        return b.getY() + b.getHeight() * 0.5f > target + 40 && b.getV() > 0;
+    }
+
+    @Test
+    public void startScreen_isStatic() {
+        World world = new World(W, H, BIRD, BIRD);
+        float y = world.getBird().getY();
+        for (int i = 0; i < 1000; i++) world.tick();
+        assertEquals(GameState.START, world.getState());
+        assertEquals(y, world.getBird().getY(), 0f);
+    }
+
+    @Test
+    public void idleBird_fallsToGameOver() {
+        World world = new World(W, H, BIRD, BIRD);
+        world.tap();
+        assertEquals(GameState.PLAYING, world.getState());
+        int ticks = 0;
+        while (world.getState() != GameState.GAMEOVER && ticks < 1000) {
+            world.tick();
+            ticks++;
+        }
+        assertEquals(GameState.GAMEOVER, world.getState());
+        assertEquals(H - BIRD, world.getBird().getY(), 0f);
+        assertEquals(BirdBody.Mood.NEUTRAL, world.getBird().getMood());
+    }
+
+    @Test
+    public void hittingCeiling_fallsHurt() {
+        World world = new World(W, H, BIRD, BIRD);
+        world.tap();
+        for (int i = 0; i < 200 && world.getState() == GameState.PLAYING; i++) {
+            world.tap();
+            world.tick();
+        }
+        assertEquals(GameState.FALLING, world.getState());
+        assertEquals(BirdBody.Mood.HURT, world.getBird().getMood());
+    }
+
+    @Test
+    public void steeringBird_scoresAndReportsBest() {
+        World world = new World(W, H, BIRD, BIRD);
+        // fixed gaps, so the score is the same on every run
+        world.reset(2);
+        final int[] reported = {-1};
+        world.setListener(best -> reported[0] = best);
+        world.tap();
+        for (int i = 0; i < 100_000 && world.getState() == GameState.PLAYING; i++) {
+            steer(world);
+            world.tick();
+        }
+        assertTrue("score " + world.getScore(), world.getScore() > 10);
+
+        while (world.getState() != GameState.GAMEOVER) world.tick();
+        assertEquals(world.getScore(), world.getBestScore());
+        assertEquals(world.getScore(), reported[0]);
+    }
+
+    @Test
+    public void lowerScore_keepsBest() {
+        World world = new World(W, H, BIRD, BIRD);
+        world.setBestScore(50);
+        world.setListener(best -> fail("not a new best"));
+        world.tap();
+        while (world.getState() != GameState.GAMEOVER) world.tick();
+        assertEquals(50, world.getBestScore());
+    }
+
+    @Test
+    public void reset_returnsToStart() {
+        World world = new World(W, H, BIRD, BIRD);
+        world.tap();
+        while (world.getState() != GameState.GAMEOVER) world.tick();
+        world.reset();
+        assertEquals(GameState.START, world.getState());
+        assertEquals(0, world.getScore());
+        assertEquals(2, world.getPipes().size());
+        assertEquals(1, world.getCoins().size());
+    }
+
+    @Test
+    public void tapAt_restartsOnlyOnButton() {
+        World world = new World(W, H, BIRD, BIRD);
+        world.setRestartButton(400, 1000, 700, 1100);
+        world.tap(0, 0);
+        assertEquals(GameState.PLAYING, world.getState());
+        while (world.getState() != GameState.GAMEOVER) world.tick();
+        world.tap(100, 100);
+        assertEquals(GameState.GAMEOVER, world.getState());
+        world.tap(500, 1050);
+        assertEquals(GameState.START, world.getState());
+    }
+
+    @Test
+    public void customRules_driveSpeedAndPhysics() {
+        Rules rules = Rules.DEFAULT.withSpeed(16).withGravity(2).withJumpVelocity(-30);
+        World world = new World(W, H, BIRD, BIRD, rules);
+        world.tap();
+        world.tap();
+        assertEquals(-30, world.getBird().getV(), 0f);
+        float y = world.getBird().getY();
+        world.tick();
+        assertEquals(-28, world.getBird().getV(), 0f);
+        assertEquals(y - 28, world.getBird().getY(), 0f);
+        // first pair spawns after spacing / speed ticks and moves 16 px a tick
+        for (int i = 1; i < World.PIPE_SPACING / 16; i++) world.tick();
+        assertEquals(W - 16, world.getPipes().getX(0), 0f);
+    }
+}
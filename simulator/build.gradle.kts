@@ -0,0 +1,20 @@
+plugins {
+    application
+}
+
+// Headless balance sweeps: plays thousands of bot games per parameter set
+// across all cores. Run with
+//   ./gradlew :simulator:run --args="--games 5000 --gap 3.5,4,4.5 --speed 8,10"
+java {
+    sourceCompatibility = JavaVersion.VERSION_1_8
+    targetCompatibility = JavaVersion.VERSION_1_8
+}
+
+dependencies {
+    implementation(project(":engine"))
+    testImplementation(libs.junit)
+}
+
+application {
+    mainClass.set("com.example.flappywolf.sim.BalanceSweep")
+}
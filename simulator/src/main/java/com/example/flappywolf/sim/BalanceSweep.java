@@ -0,0 +1,170 @@
+package com.example.flappywolf.sim;
+
+import com.example.flappywolf.engine.GameState;
+import com.example.flappywolf.engine.Rng;
+import com.example.flappywolf.engine.Rules;
+import com.example.flappywolf.engine.World;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Plays thousands of headless games per parameter set on a fork/join
+ * pool and reports score distributions and survival curves. Games are
+ * seeded by their index, so results do not depend on the thread count.
+ */
+public final class BalanceSweep {
+    // a 1080x1920 phone; the bird sprite is an eighth of the screen wide
+    static final float WIDTH = 1080, HEIGHT = 1920, BIRD = WIDTH / 8;
+    private static final int[] SURVIVAL_SECONDS = { 5, 10, 30, 60, 120 };
+
+    private BalanceSweep() {}
+
+    /** Plays games [0, games) of one parameter set. */
+    public static SweepStats run(ForkJoinPool pool, Rules rules, BotPolicy policy,
+                                 int games, long seed, int maxTicks) {
+        return pool.invoke(new GamesTask(rules, policy, seed, maxTicks, 0, games));
+    }
+
+    /** Splits a range of games until it is small enough to play in one go. */
+    static final class GamesTask extends RecursiveTask<SweepStats> {
+        private static final long serialVersionUID = 1L;
+        private static final int LEAF_GAMES = 16;
+
+        private final Rules rules;
+        private final BotPolicy policy;
+        private final long seed;
+        private final int maxTicks, from, to;
+
+        GamesTask(Rules rules, BotPolicy policy, long seed, int maxTicks, int from, int to) {
+            this.rules = rules;
+            this.policy = policy;
+            this.seed = seed;
+            this.maxTicks = maxTicks;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected SweepStats compute() {
+            if (to - from <= LEAF_GAMES) {
+                SweepStats stats = new SweepStats(maxTicks);
+                World world = new World(WIDTH, HEIGHT, BIRD, BIRD, rules);
+                for (int i = from; i < to; i++) {
+                    Rng r = new Rng(seed + i);
+                    play(world, policy.newBot(r.nextLong()), r.nextLong(), maxTicks, stats);
+                }
+                return stats;
+            }
+            int mid = (from + to) >>> 1;
+            GamesTask left = new GamesTask(rules, policy, seed, maxTicks, from, mid);
+            left.fork();
+            SweepStats right = new GamesTask(rules, policy, seed, maxTicks, mid, to).compute();
+            SweepStats stats = left.join();
+            stats.merge(right);
+            return stats;
+        }
+    }
+
+    /** One game until the bird dies or maxTicks pass. */
+    static void play(World world, Bot bot, long seed, int maxTicks, SweepStats into) {
+        world.reset(seed);
+        world.tap();
+        int t = 0;
+        // score cannot change once the bird is hit, so stop there
+        while (t < maxTicks && world.getState() == GameState.PLAYING) {
+            if (bot.wantsFlap(world)) world.tap();
+            world.tick();
+            t++;
+        }
+        into.add(world.getScore(), t);
+    }
+
+    public static void main(String[] args) {
+        int games = 2000, maxSeconds = 120;
+        long seed = 1;
+        float[] gap = { Rules.DEFAULT.pipeGapFactor }, spacing = { Rules.DEFAULT.pipeSpacing },
+                speed = { Rules.DEFAULT.speed }, jump = { Rules.DEFAULT.jumpVelocity },
+                gravity = { Rules.DEFAULT.gravity };
+        List<BotPolicy> bots = new ArrayList<>();
+        try {
+            for (int i = 0; i < args.length; i += 2) {
+                String v = args[i + 1];
+                switch (args[i]) {
+                    case "--games":       games = Integer.parseInt(v); break;
+                    case "--max-seconds": maxSeconds = Integer.parseInt(v); break;
+                    case "--seed":        seed = Long.parseLong(v); break;
+                    case "--gap":         gap = floats(v); break;
+                    case "--spacing":     spacing = floats(v); break;
+                    case "--speed":       speed = floats(v); break;
+                    case "--jump":        jump = floats(v); break;
+                    case "--gravity":     gravity = floats(v); break;
+                    case "--bots":
+                        for (String b : v.split(",")) bots.add(policy(b));
+                        break;
+                    default: throw new IllegalArgumentException("unknown option " + args[i]);
+                }
+            }
+        } catch (RuntimeException e) {
+            System.err.println(e.getMessage());
+            System.err.println("usage: BalanceSweep [--games N] [--max-seconds S] [--seed N]"
+                    + " [--gap a,b..] [--spacing ..] [--speed ..] [--jump ..] [--gravity ..]"
+                    + " [--bots threshold,noisy]");
+            System.exit(2);
+            return;
+        }
+        if (bots.isEmpty()) {
+            bots.add(policy("threshold"));
+            bots.add(policy("noisy"));
+        }
+
+        ForkJoinPool pool = ForkJoinPool.commonPool();
+        PrintStream out = System.out;
+        long totalTicks = 0, totalGames = 0, start = System.nanoTime();
+        for (float g : gap) for (float sp : spacing) for (float s : speed)
+        for (float j : jump) for (float gr : gravity) {
+            Rules rules = new Rules(g, sp, s, j, gr);
+            for (BotPolicy bot : bots) {
+                SweepStats stats = run(pool, rules, bot, games, seed, maxSeconds * SweepStats.TICKS_PER_SECOND);
+                report(out, rules, bot, stats);
+                totalTicks += stats.ticks();
+                totalGames += stats.games();
+            }
+        }
+        double secs = (System.nanoTime() - start) / 1e9;
+        out.printf(Locale.ROOT, "%d games, %d ticks in %.1f s: %.1f M ticks/s on %d threads%n",
+                totalGames, totalTicks, secs, totalTicks / secs / 1e6, pool.getParallelism());
+    }
+
+    static void report(PrintStream out, Rules rules, BotPolicy bot, SweepStats s) {
+        out.printf(Locale.ROOT, "%s bot=%s games=%d%n", rules, bot.name(), s.games());
+        out.printf(Locale.ROOT, "  score mean %.1f p10 %d p50 %d p90 %d p99 %d max %d%n",
+                s.meanScore(), s.scorePercentile(0.10), s.scorePercentile(0.50),
+                s.scorePercentile(0.90), s.scorePercentile(0.99), s.maxScore());
+        StringBuilder sb = new StringBuilder("  alive");
+        for (int sec : SURVIVAL_SECONDS) {
+            if (sec > s.maxSeconds()) break;
+            sb.append(String.format(Locale.ROOT, " %ds %.3f", sec, s.survival(sec)));
+        }
+        out.println(sb);
+    }
+
+    static BotPolicy policy(String name) {
+        switch (name) {
+            case "threshold": return ThresholdBot.policy(40f);
+            case "noisy":     return NoisyBot.policy();
+            default: throw new IllegalArgumentException("unknown bot " + name);
+        }
+    }
+
+    private static float[] floats(String csv) {
+        String[] parts = csv.split(",");
+        float[] f = new float[parts.length];
+        for (int i = 0; i < parts.length; i++) f[i] = Float.parseFloat(parts[i].trim());
+        return f;
+    }
+}
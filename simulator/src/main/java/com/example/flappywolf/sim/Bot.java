@@ -0,0 +1,9 @@
+package com.example.flappywolf.sim;
+
+import com.example.flappywolf.engine.World;
+
+/** Plays one game; asked once per tick while the bird is alive. */
+public interface Bot {
+    /** True to tap before this tick. */
+    boolean wantsFlap(World world);
+}
@@ -0,0 +1,9 @@
+package com.example.flappywolf.sim;
+
+/** Makes a fresh {@link Bot} for each simulated game. */
+public interface BotPolicy {
+    String name();
+
+    /** A bot for one game; seed drives any randomness it has. */
+    Bot newBot(long seed);
+}
@@ -0,0 +1,100 @@
+package com.example.flappywolf.sim;
+
+import com.example.flappywolf.engine.BirdBody;
+import com.example.flappywolf.engine.Rng;
+import com.example.flappywolf.engine.Rules;
+import com.example.flappywolf.engine.World;
+
+/**
+ * Plays roughly like a person: it sees the screen a reaction time late
+ * and extrapolates from there, knowing which taps it has made since. It
+ * aims a little off the gap centre (a new error for every gap), cannot
+ * tap faster than a few times a second, and now and then misses a tap or
+ * taps twice.
+ */
+public final class NoisyBot implements Bot {
+    private static final float THRESHOLD = 40f;
+    private static final int DOUBLE_TAP_GAP = 3;  // ticks between the two taps
+    private static final int MIN_TAP_GAP = 8;     // fastest deliberate tapping
+
+    private final Rng rng;
+    private final int delay;         // reaction time in ticks
+    private final float aimSpread;   // std dev of the aim error, as a fraction of screen height
+    private final float missChance, doubleTapChance;
+    // past observations, indexed by tick modulo their length
+    private final float[] seenBelow, seenV;
+    private final boolean[] tapped;
+    private int tick;
+    private float aimError;
+    private float lastTarget = Float.NaN;
+    private int cooldown, extraTapIn;
+
+    public NoisyBot(long seed, int minDelay, int maxDelay, float aimSpread,
+                    float missChance, float doubleTapChance) {
+        rng = new Rng(seed);
+        delay = minDelay + (int) (rng.nextFloat() * (maxDelay - minDelay + 1));
+        this.aimSpread = aimSpread;
+        this.missChance = missChance;
+        this.doubleTapChance = doubleTapChance;
+        seenBelow = new float[delay + 1];
+        seenV = new float[delay + 1];
+        tapped = new boolean[delay + 1];
+    }
+
+    /** 150-250 ms reactions, aim off by 2% of the screen, 3% missed and 2% double taps. */
+    public static BotPolicy policy() {
+        return new BotPolicy() {
+            @Override public String name() { return "noisy"; }
+            @Override public Bot newBot(long seed) {
+                return new NoisyBot(seed, 9, 15, 0.02f, 0.03f, 0.02f);
+            }
+        };
+    }
+
+    @Override
+    public boolean wantsFlap(World world) {
+        BirdBody b = world.getBird();
+        float target = ThresholdBot.gapTarget(world);
+        if (target != lastTarget) {
+            // a new gap to aim for, and a new aim error for it
+            lastTarget = target;
+            aimError = gaussian() * aimSpread * world.getHeight();
+        }
+        int now = tick % seenBelow.length;
+        seenBelow[now] = b.getY() + b.getHeight() * 0.5f - target - aimError;
+        seenV[now] = b.getV();
+        tapped[now] = decide(world);
+        tick++;
+        return tapped[now];
+    }
+
+    private boolean decide(World world) {
+        if (extraTapIn > 0 && --extraTapIn == 0) return true;
+        if (cooldown > 0) {
+            cooldown--;
+            return false;
+        }
+        if (tick < delay) return false;
+        // where the bird should be by now: what was seen then, moved on by
+        // the physics and the taps made since
+        Rules rules = world.getRules();
+        int then = tick - delay;
+        float below = seenBelow[then % seenBelow.length];
+        float v = seenV[then % seenV.length];
+        for (int t = then; t < tick; t++) {
+            if (tapped[t % tapped.length]) v = rules.jumpVelocity;
+            v += rules.gravity;
+            below += v;
+        }
+        if (v <= 0 || below <= THRESHOLD) return false;
+        if (rng.nextFloat() < missChance) return false;
+        cooldown = MIN_TAP_GAP;
+        if (rng.nextFloat() < doubleTapChance) extraTapIn = DOUBLE_TAP_GAP;
+        return true;
+    }
+
+    /** Roughly standard normal: Irwin-Hall with four uniforms, rescaled. */
+    private float gaussian() {
+        return (rng.nextFloat() + rng.nextFloat() + rng.nextFloat() + rng.nextFloat() - 2f) * 1.7320508f;
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.flappywolf.sim;
+
+import java.util.Arrays;
+
+/**
+ * Outcomes of many simulated games under one parameter set: the score
+ * distribution and how long birds stayed alive. Merged up the fork/join
+ * tree, so each worker fills its own and nothing is shared.
+ */
+public final class SweepStats {
+    public static final int TICKS_PER_SECOND = 60;
+
+    private final int maxTicks;
+    private long[] scores = new long[64];   // games per final score
+    private final long[] diedInSecond;       // games per second of play they died in
+    private long games, survivors, ticks;
+    private int maxScore;
+
+    /** Games are cut off, and count as survivors, after maxTicks. */
+    public SweepStats(int maxTicks) {
+        this.maxTicks = maxTicks;
+        diedInSecond = new long[(maxTicks + TICKS_PER_SECOND - 1) / TICKS_PER_SECOND];
+    }
+
+    /** One finished game: its score and how many ticks it stayed alive. */
+    public void add(int score, int aliveTicks) {
+        if (score >= scores.length) scores = Arrays.copyOf(scores, Math.max(score + 1, scores.length * 2));
+        scores[score]++;
+        maxScore = Math.max(maxScore, score);
+        if (aliveTicks >= maxTicks) survivors++;
+        else diedInSecond[aliveTicks / TICKS_PER_SECOND]++;
+        ticks += aliveTicks;
+        games++;
+    }
+
+    public void merge(SweepStats o) {
+        if (o.scores.length > scores.length) scores = Arrays.copyOf(scores, o.scores.length);
+        for (int i = 0; i < o.scores.length; i++) scores[i] += o.scores[i];
+        for (int i = 0; i < diedInSecond.length; i++) diedInSecond[i] += o.diedInSecond[i];
+        maxScore = Math.max(maxScore, o.maxScore);
+        survivors += o.survivors;
+        ticks += o.ticks;
+        games += o.games;
+    }
+
+    public long games()    { return games; }
+    public long ticks()    { return ticks; }
+    public int maxScore()  { return maxScore; }
+
+    public double meanScore() {
+        long sum = 0;
+        for (int i = 0; i <= maxScore; i++) sum += scores[i] * i;
+        return games == 0 ? 0 : (double) sum / games;
+    }
+
+    /** Smallest score at least a fraction q of games reached no more than. */
+    public int scorePercentile(double q) {
+        long rank = (long) Math.ceil(q * games), seen = 0;
+        for (int i = 0; i <= maxScore; i++) {
+            seen += scores[i];
+            if (seen >= rank && seen > 0) return i;
+        }
+        return maxScore;
+    }
+
+    /** Fraction of games still alive after the given number of seconds. */
+    public double survival(int seconds) {
+        if (games == 0) return 0;
+        long died = 0;
+        for (int i = 0; i < Math.min(seconds, diedInSecond.length); i++) died += diedInSecond[i];
+        return (double) (games - died) / games;
+    }
+
+    public int maxSeconds() { return diedInSecond.length; }
+}
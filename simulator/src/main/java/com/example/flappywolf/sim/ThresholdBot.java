@@ -0,0 +1,45 @@
+package com.example.flappywolf.sim;
+
+import com.example.flappywolf.engine.BirdBody;
+import com.example.flappywolf.engine.PipeStore;
+import com.example.flappywolf.engine.World;
+
+/**
+ * Perfect-information baseline: flaps as soon as the bird is falling and
+ * more than threshold pixels below the centre of the next gap.
+ */
+public final class ThresholdBot implements Bot {
+    private final float threshold;
+
+    public ThresholdBot(float threshold) {
+        this.threshold = threshold;
+    }
+
+    public static BotPolicy policy(final float threshold) {
+        return new BotPolicy() {
+            @Override public String name() { return "threshold"; }
+            @Override public Bot newBot(long seed) { return new ThresholdBot(threshold); }
+        };
+    }
+
+    @Override
+    public boolean wantsFlap(World world) {
+        BirdBody b = world.getBird();
+        return b.getV() > 0 && b.getY() + b.getHeight() * 0.5f - gapTarget(world) > threshold;
+    }
+
+    /** Centre of the gap the bird must pass next, or of the screen if none. */
+    static float gapTarget(World world) {
+        BirdBody b = world.getBird();
+        float target = world.getHeight() * 0.5f;
+        for (int i = 0, n = world.getPipes().size(); i < n; i++) {
+            PipeStore p = world.getPipes();
+            // until the hit circle has cleared the pipe, keep aiming at its gap
+            if (!p.isTop(i) && p.getX(i) + p.getWidth(i) > b.getX() + b.getWidth() * 0.2f) {
+                target = p.getTop(i) - world.getHeight() / world.getRules().pipeGapFactor * 0.5f;
+                break;
+            }
+        }
+        return target;
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.flappywolf.sim;
+
+import com.example.flappywolf.engine.Rules;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+public class BalanceSweepTest {
+    private static final int GAMES = 400, MAX_TICKS = 60 * SweepStats.TICKS_PER_SECOND;
+
+    private static SweepStats sweep(Rules rules, BotPolicy bot) {
+        return BalanceSweep.run(ForkJoinPool.commonPool(), rules, bot, GAMES, 7, MAX_TICKS);
+    }
+
+    @Test
+    public void results_doNotDependOnThreadCount() {
+        ForkJoinPool one = new ForkJoinPool(1), four = new ForkJoinPool(4);
+        try {
+            BotPolicy bot = NoisyBot.policy();
+            SweepStats a = BalanceSweep.run(one, Rules.DEFAULT, bot, GAMES, 3, MAX_TICKS);
+            SweepStats b = BalanceSweep.run(four, Rules.DEFAULT, bot, GAMES, 3, MAX_TICKS);
+            assertEquals(GAMES, a.games());
+            assertEquals(a.ticks(), b.ticks());
+            assertEquals(a.meanScore(), b.meanScore(), 0);
+            assertEquals(a.scorePercentile(0.9), b.scorePercentile(0.9));
+            assertEquals(a.survival(10), b.survival(10), 0);
+        } finally {
+            one.shutdown();
+            four.shutdown();
+        }
+    }
+
+    @Test
+    public void thresholdBot_outplaysNoisyBot() {
+        SweepStats perfect = sweep(Rules.DEFAULT, ThresholdBot.policy(40));
+        SweepStats human = sweep(Rules.DEFAULT, NoisyBot.policy());
+        assertTrue(perfect.meanScore() + " vs " + human.meanScore(),
+                perfect.meanScore() > human.meanScore());
+        assertTrue(human.meanScore() > 1);
+    }
+
+    @Test
+    public void widerGap_isEasier() {
+        SweepStats narrow = sweep(Rules.DEFAULT.withPipeGapFactor(5), NoisyBot.policy());
+        SweepStats wide = sweep(Rules.DEFAULT.withPipeGapFactor(3), NoisyBot.policy());
+        assertTrue(narrow.meanScore() + " vs " + wide.meanScore(),
+                wide.meanScore() > narrow.meanScore());
+        assertTrue(wide.survival(10) > narrow.survival(10));
+    }
+
+    @Test
+    public void survivalCurve_fallsFromOne() {
+        SweepStats s = sweep(Rules.DEFAULT, NoisyBot.policy());
+        assertEquals(1.0, s.survival(0), 0);
+        double last = 1;
+        for (int sec = 1; sec <= s.maxSeconds(); sec++) {
+            assertTrue(s.survival(sec) <= last);
+            last = s.survival(sec);
+        }
+    }
+
+    @Test
+    public void stats_percentilesAndSurvival() {
+        SweepStats s = new SweepStats(10 * SweepStats.TICKS_PER_SECOND);
+        for (int score = 0; score < 100; score++) s.add(score, score * 6);  // dies at score/10 s
+        s.add(500, 10 * SweepStats.TICKS_PER_SECOND);                       // survives the cut-off
+        SweepStats merged = new SweepStats(10 * SweepStats.TICKS_PER_SECOND);
+        merged.merge(s);
+        assertEquals(101, merged.games());
+        assertEquals(500, merged.maxScore());
+        assertEquals(50, merged.scorePercentile(0.5));  // 51st of 101
+        assertEquals(500, merged.scorePercentile(1.0));
+        assertEquals(1 - 50 / 101.0, merged.survival(5), 1e-9);
+        assertEquals(1 / 101.0, merged.survival(10), 1e-9);
+    }
+}